@@ -0,0 +1,64 @@
+package com.booking.filter;
+
+import com.booking.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Filter overhead when every thread hits the same bucket versus one bucket per thread.
+ * Capacity is high enough that no request is rejected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class RateLimitFilterBenchmark {
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private RateLimitFilter filter;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setPolicies(List.of(new RateLimitProperties.Policy(
+                "read", "/api/bookings/**", List.of(), 1_000_000_000L, Duration.ofSeconds(1))));
+        filter = new RateLimitFilter(properties, new SimpleMeterRegistry());
+    }
+
+    @State(Scope.Thread)
+    public static class SharedClient {
+        final MockHttpServletRequest request = request("10.0.0.1");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+    }
+
+    @State(Scope.Thread)
+    public static class OwnClient {
+        private static final AtomicInteger NEXT = new AtomicInteger();
+        final MockHttpServletRequest request = request("10.0.1." + NEXT.incrementAndGet());
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void contended(SharedClient client) throws Exception {
+        filter.doFilter(client.request, client.response, NO_OP_CHAIN);
+    }
+
+    @Benchmark
+    public void uncontended(OwnClient client) throws Exception {
+        filter.doFilter(client.request, client.response, NO_OP_CHAIN);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/bookings/all");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
@@ -0,0 +1,74 @@
+package com.booking.service;
+
+import com.booking.dto.BookingResponse;
+import com.booking.event.BookingEventDeserializer;
+import com.booking.event.BookingEventSerializer;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kafka value encoding of a single booking event. {@code json} is the previous
+ * Spring JsonSerializer with its type headers, {@code cbor} the schema-versioned
+ * binary codec. The record size (value plus headers) is printed once per trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BookingEventSerializationBenchmark {
+    @Param({"json", "cbor"})
+    public String format;
+
+    private Serializer<BookingResponse> serializer;
+    private Deserializer<BookingResponse> deserializer;
+    private BookingResponse event;
+    private RecordHeaders headers;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        if ("json".equals(format)) {
+            serializer = new JsonSerializer<>();
+            JsonDeserializer<BookingResponse> json = new JsonDeserializer<>();
+            json.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "com.booking.dto"), false);
+            deserializer = json;
+        } else {
+            serializer = new BookingEventSerializer();
+            deserializer = new BookingEventDeserializer();
+        }
+        event = new BookingResponse(42L, "user-42", "meeting-room-1",
+                LocalDateTime.of(2030, 1, 1, 9, 30), "ACTIVE", LocalDateTime.of(2029, 12, 1, 8, 0));
+        event.setMessage("Booking created successfully");
+        headers = new RecordHeaders();
+        encoded = serializer.serialize(BookingEventPublisher.BOOKING_TOPIC, headers, event);
+        int headerBytes = 0;
+        for (Header header : headers) {
+            headerBytes += header.key().length() + header.value().length;
+        }
+        System.out.printf("%n%s: value %d bytes, headers %d bytes%n", format, encoded.length, headerBytes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializer.close();
+        deserializer.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(BookingEventPublisher.BOOKING_TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public BookingResponse deserialize() {
+        return deserializer.deserialize(BookingEventPublisher.BOOKING_TOPIC, headers, encoded);
+    }
+}
@@ -0,0 +1,76 @@
+package com.booking.service;
+
+import com.booking.dto.BookingResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding of a list response as served by {@code /api/bookings/all}: JSON or CBOR
+ * (via {@code Accept: application/cbor}), optionally gzip-compressed the way the
+ * server compresses large responses. Body sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingListEncodingBenchmark {
+    private static final TypeReference<List<BookingResponse>> LIST = new TypeReference<>() {};
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    @Param({"none", "gzip"})
+    public String compression;
+
+    @Param({"1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<BookingResponse> bookings;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = "json".equals(format)
+                ? Jackson2ObjectMapperBuilder.json().build()
+                : Jackson2ObjectMapperBuilder.cbor().build();
+        bookings = new ArrayList<>(size);
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 0, 0);
+        for (int i = 0; i < size; i++) {
+            bookings.add(new BookingResponse((long) i, "user-" + (i % 50), "res-" + (i % 20),
+                    base.plusMinutes(i), "ACTIVE", base));
+        }
+        encoded = encode();
+        System.out.printf("%n%s/%s: %d bookings in %d bytes%n", format, compression, size, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(size * 64);
+        try (OutputStream out = "gzip".equals(compression) ? new GZIPOutputStream(buffer) : buffer) {
+            objectMapper.writeValue(out, bookings);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Benchmark
+    public List<BookingResponse> decode() throws IOException {
+        InputStream in = new ByteArrayInputStream(encoded);
+        try (InputStream body = "gzip".equals(compression) ? new GZIPInputStream(in) : in) {
+            return objectMapper.readValue(body, LIST);
+        }
+    }
+}
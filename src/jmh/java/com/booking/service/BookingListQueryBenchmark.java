@@ -0,0 +1,83 @@
+package com.booking.service;
+
+import com.booking.BookingApplication;
+import com.booking.dto.BookingRequest;
+import com.booking.dto.BookingResponse;
+import com.booking.repository.BookingRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Loading one user's active bookings the old way (managed entities in a read-write
+ * transaction, then {@code convertToResponse}) against the DTO projection in a
+ * read-only transaction. Run with {@code -PjmhProfilers=gc} and divide
+ * {@code gc.alloc.rate.norm} by {@code rows} for bytes allocated per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingListQueryBenchmark {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Param({"10", "100", "1000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private BookingRepository bookingRepository;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private String userId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(BookingApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.jpa.show-sql=false",
+                        "spring.kafka.listener.auto-startup=false",
+                        "booking.cache.user-bookings.remote-invalidation=false",
+                        "booking.outbox.poll-interval=PT1H",
+                        "logging.level.root=WARN")
+                .run();
+        bookingRepository = context.getBean(BookingRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        userId = "list-user-" + rows;
+        List<BookingRequest> requests = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            requests.add(new BookingRequest(userId, "res-" + (i % 50), BASE.plusMinutes(i)));
+        }
+        context.getBean(BookingService.class).addBookings(requests);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingResponse> managedEntities() {
+        return readWrite.execute(status -> bookingRepository.findByUserIdAndStatus(userId, "ACTIVE")
+                .stream()
+                .map(BookingService::convertToResponse)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<BookingResponse> readOnlyProjection() {
+        return readOnly.execute(status -> bookingRepository.findResponsesByUserIdAndStatus(userId, "ACTIVE"));
+    }
+}
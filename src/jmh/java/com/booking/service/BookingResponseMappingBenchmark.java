@@ -0,0 +1,50 @@
+package com.booking.service;
+
+import com.booking.dto.BookingResponse;
+import com.booking.entity.Booking;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping plus JSON serialization of list responses, as done by
+ * the list endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingResponseMappingBenchmark {
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private List<Booking> bookings;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        bookings = new ArrayList<>(size);
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 0, 0);
+        for (int i = 0; i < size; i++) {
+            Booking booking = new Booking("user-" + (i % 50), "res-" + (i % 20), base.plusMinutes(i), "ACTIVE");
+            booking.setId((long) i);
+            booking.setCreatedAt(base);
+            bookings.add(booking);
+        }
+    }
+
+    @Benchmark
+    public List<BookingResponse> map() {
+        return bookings.stream().map(BookingService::convertToResponse).toList();
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(map());
+    }
+}
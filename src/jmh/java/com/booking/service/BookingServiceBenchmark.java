@@ -0,0 +1,63 @@
+package com.booking.service;
+
+import com.booking.BookingApplication;
+import com.booking.dto.BookingRequest;
+import com.booking.dto.BookingResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Create and cancel through the full service stack against in-memory H2. Kafka
+ * listeners stay stopped and events only reach the outbox table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BookingServiceBenchmark {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(BookingApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.jpa.show-sql=false",
+                        "spring.kafka.listener.auto-startup=false",
+                        "booking.cache.user-bookings.remote-invalidation=false",
+                        "booking.outbox.poll-interval=PT1H",
+                        "logging.level.root=WARN")
+                .run();
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookingResponse addBooking() {
+        return bookingService.addBooking(nextRequest());
+    }
+
+    @Benchmark
+    public BookingResponse addAndCancelBooking() {
+        BookingResponse created = bookingService.addBooking(nextRequest());
+        return bookingService.cancelBooking(created.getId());
+    }
+
+    private BookingRequest nextRequest() {
+        long n = sequence.incrementAndGet();
+        return new BookingRequest("jmh-user-" + (n % 1_000), "res-" + (n % 100), BASE.plusMinutes(n));
+    }
+}
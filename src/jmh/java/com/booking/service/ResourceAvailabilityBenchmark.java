@@ -0,0 +1,101 @@
+package com.booking.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Month-long free-slot searches over 100k resources. {@code bitmap} asks the occupancy
+ * index; {@code scan} computes the same answer from the resource's sorted booking times,
+ * i.e. the work left after a range query has returned the rows. Index size is printed once
+ * per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResourceAvailabilityBenchmark {
+    private static final Duration BOOKING_LENGTH = Duration.ofMinutes(30);
+
+    @Param({"100000"})
+    public int resources;
+
+    @Param({"40"})
+    public int bookingsPerResource;
+
+    @Param({"30m", "2h"})
+    public String slot;
+
+    private ResourceAvailability availability;
+    private LocalDateTime[][] bookings;
+    private Duration slotLength;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Setup
+    public void setUp() {
+        slotLength = "30m".equals(slot) ? Duration.ofMinutes(30) : Duration.ofHours(2);
+        from = LocalDate.now().plusDays(1).atStartOfDay();
+        to = from.plusDays(30);
+
+        bookings = new LocalDateTime[resources][];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int r = 0; r < resources; r++) {
+            LocalDateTime[] times = new LocalDateTime[bookingsPerResource];
+            for (int i = 0; i < bookingsPerResource; i++) {
+                // Office hours, on the half hour.
+                times[i] = from.plusDays(random.nextInt(30)).plusMinutes(8 * 60 + 30L * random.nextInt(20));
+            }
+            Arrays.sort(times);
+            bookings[r] = times;
+        }
+
+        System.gc();
+        long before = usedHeap();
+        availability = new ResourceAvailability(Duration.ofMinutes(15), BOOKING_LENGTH, Duration.ofDays(62));
+        availability.markLoaded();
+        for (int r = 0; r < resources; r++) {
+            for (LocalDateTime time : bookings[r]) {
+                availability.apply(new ResourceAvailability.Change("user-" + r, "res-" + r, time, true));
+            }
+        }
+        System.gc();
+        System.out.printf("%n%d resources x %d bookings: index ~%d MB%n", resources, bookingsPerResource,
+                (usedHeap() - before) / (1024 * 1024));
+    }
+
+    @Benchmark
+    public List<LocalDateTime> bitmap() {
+        int r = ThreadLocalRandom.current().nextInt(resources);
+        return availability.freeSlots("res-" + r, from, to, slotLength);
+    }
+
+    @Benchmark
+    public List<LocalDateTime> scan() {
+        LocalDateTime[] times = bookings[ThreadLocalRandom.current().nextInt(resources)];
+        List<LocalDateTime> free = new ArrayList<>();
+        int next = 0;
+        for (LocalDateTime start = from; !start.plus(slotLength).isAfter(to); start = start.plus(slotLength)) {
+            LocalDateTime end = start.plus(slotLength);
+            while (next < times.length && !times[next].plus(BOOKING_LENGTH).isAfter(start)) {
+                next++;
+            }
+            if (next == times.length || !times[next].isBefore(end)) {
+                free.add(start);
+            }
+        }
+        return free;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,70 @@
+package com.booking.service;
+
+import com.booking.BookingApplication;
+import com.booking.dto.BookingRequest;
+import com.booking.dto.BookingResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent create throughput with bookings spread over 1, 2 or 4 in-memory H2
+ * shards. With one shard sharding is disabled and the plain DataSource is used, so
+ * that row is the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class ShardedBookingBenchmark {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Param({"1", "2", "4"})
+    public int shards;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void start() {
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.jpa.show-sql=false",
+                "spring.kafka.listener.auto-startup=false",
+                "booking.cache.user-bookings.remote-invalidation=false",
+                "booking.outbox.poll-interval=PT1H",
+                "booking.rate-limit.enabled=false",
+                "logging.level.root=WARN"));
+        if (shards > 1) {
+            properties.add("booking.sharding.enabled=true");
+            for (int i = 0; i < shards; i++) {
+                properties.add("booking.sharding.shards[" + i + "].url=jdbc:h2:mem:jmh-shard" + i + ";DB_CLOSE_DELAY=-1");
+                properties.add("booking.sharding.shards[" + i + "].username=sa");
+            }
+        }
+        context = new SpringApplicationBuilder(BookingApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties.toArray(String[]::new))
+                .run();
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookingResponse addBooking() {
+        long n = sequence.incrementAndGet();
+        return bookingService.addBooking(
+                new BookingRequest("jmh-user-" + (n % 1_000), "res-" + (n % 100), BASE.plusMinutes(n)));
+    }
+}
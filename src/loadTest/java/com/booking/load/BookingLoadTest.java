@@ -0,0 +1,64 @@
+package com.booking.load;
+
+import com.booking.controller.AsyncBookingRestController;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ActiveProfilesResolver;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Boots the whole application (Tomcat on virtual threads, filters, JPA on H2 and the
+ * outbox relay) against embedded Kafka and drives it with {@link OpenModelLoadGenerator}.
+ * Rate limiting is switched off so the numbers describe the service, not the limiter.
+ * {@code -Pload.api=async} runs the same load against the async REST mode, and
+ * {@code -Pload.thread-executor=platform -Pload.tomcat-threads=N} swaps Tomcat's virtual
+ * threads for a fixed pool, where handing work off the request thread matters most.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "booking.rate-limit.enabled=false",
+        "booking.concurrency-limit.enabled=false",
+        "spring.thread-executor=${load.thread-executor:virtual}",
+        "server.tomcat.threads.max=${load.tomcat-threads:200}",
+        "logging.level.root=WARN"
+})
+@ActiveProfiles(resolver = BookingLoadTest.ApiModeResolver.class)
+@EmbeddedKafka(partitions = 3, topics = "booking-events")
+class BookingLoadTest {
+    private static final String API = System.getProperty("load.api", "blocking");
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void openModelLoad() throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        System.out.printf("Load profile: %s API, %d req/s for %s after %s warmup, mix %s, seed %d%n",
+                API, profile.ratePerSecond(), profile.duration(), profile.warmup(), profile.mix(), profile.seed());
+
+        LatencyReport report = new OpenModelLoadGenerator("http://localhost:" + port, profile).run();
+
+        System.out.println(report.format(profile.duration()));
+        report.write(Path.of("build", "reports", "load", "summary-" + API + ".txt"), profile.duration());
+        assertEquals(0, report.countServerErrors(), "server errors during load");
+    }
+
+    /** Activates the async REST profile when {@code load.api=async}. */
+    static class ApiModeResolver implements ActiveProfilesResolver {
+        @Override
+        public String[] resolve(Class<?> testClass) {
+            return switch (API) {
+                case "blocking" -> new String[0];
+                case "async" -> new String[] {AsyncBookingRestController.PROFILE};
+                default -> throw new IllegalArgumentException("load.api must be blocking or async: " + API);
+            };
+        }
+    }
+}
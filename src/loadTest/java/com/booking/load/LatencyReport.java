@@ -0,0 +1,84 @@
+package com.booking.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms (microseconds, measured from the intended send
+ * time so a stalled server cannot hide queueing) and status counts.
+ */
+public class LatencyReport {
+    private static final long MAX_LATENCY_MICROS = Duration.ofMinutes(2).toNanos() / 1_000;
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    public LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+        }
+    }
+
+    public void record(Operation operation, long latencyNanos, int status) {
+        histograms.get(operation).recordValue(Math.min(latencyNanos / 1_000, MAX_LATENCY_MICROS));
+        statuses.computeIfAbsent(operation + " " + status, k -> new LongAdder()).increment();
+    }
+
+    public long count(Operation operation, int status) {
+        LongAdder adder = statuses.get(operation + " " + status);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public long countServerErrors() {
+        return statuses.entrySet().stream()
+                .filter(e -> e.getKey().matches(".* 5\\d\\d"))
+                .mapToLong(e -> e.getValue().sum())
+                .sum();
+    }
+
+    public String format(Duration measured) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-17s %9s %10s %10s %10s %10s %10s%n",
+                "operation", "count", "ops/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)"));
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            out.append(row(entry.getKey().name().toLowerCase(), histogram, measured));
+        }
+        out.append(row("total", total, measured));
+        out.append(System.lineSeparator()).append("status counts:").append(System.lineSeparator());
+        statuses.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> out.append(String.format("  %-24s %d%n", e.getKey(), e.getValue().sum())));
+        return out.toString();
+    }
+
+    public void write(Path file, Duration measured) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, format(measured));
+    }
+
+    private static String row(String name, Histogram histogram, Duration measured) {
+        return String.format("%-17s %9d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                name,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / (measured.toMillis() / 1000.0),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+}
@@ -0,0 +1,52 @@
+package com.booking.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load shape read from {@code load.*} system properties, e.g.
+ * {@code ./gradlew loadTest -Pload.rate=800 -Pload.duration=PT60S -Pload.mix=create=50,list_user=50}.
+ */
+public record LoadProfile(int ratePerSecond, Duration warmup, Duration duration,
+                          Map<Operation, Integer> mix, int users, int resources, long seed) {
+
+    public static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+                Integer.getInteger("load.rate", 200),
+                Duration.parse(System.getProperty("load.warmup", "PT10S")),
+                Duration.parse(System.getProperty("load.duration", "PT30S")),
+                parseMix(System.getProperty("load.mix", "create=35,cancel=10,list_all=10,list_user=35,duplicate_create=10")),
+                Integer.getInteger("load.users", 1_000),
+                Integer.getInteger("load.resources", 100),
+                Long.getLong("load.seed", 42L));
+    }
+
+    static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry: " + part);
+            }
+            mix.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(pair[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("load.mix must have a positive total weight");
+        }
+        return mix;
+    }
+
+    public Operation pick(int roll) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int point = Math.floorMod(roll, total);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            point -= entry.getValue();
+            if (point < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+}
@@ -0,0 +1,136 @@
+package com.booking.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open-model generator: requests are issued on a fixed schedule whether or not
+ * earlier ones have completed, each on its own virtual thread. All randomness
+ * comes from a seeded generator on the scheduling thread, so a run is repeatable.
+ */
+public class OpenModelLoadGenerator {
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final String baseUrl;
+    private final LoadProfile profile;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ConcurrentLinkedQueue<Long> cancellable = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<String> created = new ConcurrentLinkedQueue<>();
+
+    public OpenModelLoadGenerator(String baseUrl, LoadProfile profile) {
+        this.baseUrl = baseUrl;
+        this.profile = profile;
+    }
+
+    public LatencyReport run() {
+        LatencyReport report = new LatencyReport();
+        Random random = new Random(profile.seed());
+        long intervalNanos = 1_000_000_000L / profile.ratePerSecond();
+        long warmupNanos = profile.warmup().toNanos();
+        long totalNanos = warmupNanos + profile.duration().toNanos();
+        long slot = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            for (long i = 0; ; i++) {
+                long offset = i * intervalNanos;
+                if (offset >= totalNanos) {
+                    break;
+                }
+                long intended = start + offset;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = profile.pick(random.nextInt(Integer.MAX_VALUE));
+                String user = "load-user-" + random.nextInt(profile.users());
+                String resource = "res-" + random.nextInt(profile.resources());
+                long minute = slot++;
+                boolean measured = offset >= warmupNanos;
+                executor.execute(() -> {
+                    int status = execute(operation, user, resource, minute);
+                    if (measured) {
+                        report.record(operation, System.nanoTime() - intended, status);
+                    }
+                });
+            }
+        }
+        return report;
+    }
+
+    private int execute(Operation operation, String user, String resource, long minute) {
+        try {
+            return switch (operation) {
+                case CREATE -> create(body(user, resource, minute));
+                case DUPLICATE_CREATE -> {
+                    String previous = created.peek();
+                    yield create(previous != null ? previous : body(user, resource, minute));
+                }
+                case CANCEL -> {
+                    Long id = cancellable.poll();
+                    yield id != null
+                            ? send(HttpRequest.newBuilder(uri("/api/bookings/cancel/" + id))
+                                    .PUT(HttpRequest.BodyPublishers.noBody()).build()).statusCode()
+                            : create(body(user, resource, minute));
+                }
+                case LIST_ALL -> send(HttpRequest.newBuilder(uri("/api/bookings/all")).GET().build()).statusCode();
+                case PAGE -> send(HttpRequest.newBuilder(uri("/api/bookings/page?limit=50")).GET().build()).statusCode();
+                case LIST_USER -> send(HttpRequest.newBuilder(uri("/api/bookings/user/" + user)).GET().build()).statusCode();
+            };
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private int create(String body) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/bookings/add"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+        if (response.statusCode() == 201) {
+            // Bookings kept for duplicate attempts are never cancelled, so a duplicate always meets an ACTIVE row.
+            if (created.size() < 1_000) {
+                created.add(body);
+            } else {
+                Matcher matcher = ID_PATTERN.matcher(response.body());
+                if (matcher.find()) {
+                    cancellable.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+        return response.statusCode();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static String body(String user, String resource, long minute) {
+        return "{\"userId\":\"" + user + "\",\"resourceId\":\"" + resource +
+                "\",\"bookingDate\":\"" + DATE_FORMAT.format(BASE.plusMinutes(minute)) + "\"}";
+    }
+}
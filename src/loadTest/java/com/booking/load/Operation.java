@@ -0,0 +1,10 @@
+package com.booking.load;
+
+public enum Operation {
+    CREATE,
+    CANCEL,
+    LIST_ALL,
+    PAGE,
+    LIST_USER,
+    DUPLICATE_CREATE
+}
@@ -0,0 +1,190 @@
+package com.booking.load;
+
+import org.springframework.kafka.test.EmbeddedKafkaZKBroker;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the application as a separate JVM in each startup variant and measures the time
+ * from process launch to the first 200 from {@code /api/bookings/all}, and the process RSS
+ * at that moment and once background initialization has settled. Variants alternate
+ * within each round so drift in the machine affects all of them alike. Run it with
+ * {@code ./gradlew startupBenchmark}; the summary goes to {@code build/reports/startup}.
+ */
+public class StartupBenchmark {
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final String MAIN_CLASS = "com.booking.BookingApplication";
+
+    private final String classpath = required("startup.classpath");
+    private final String cdsArchive = required("startup.cds-archive");
+    private final String profiles = System.getProperty("startup.profiles", "fast-start");
+    private final int runs = Integer.getInteger("startup.runs", 5);
+    private final Duration settle = Duration.parse(System.getProperty("startup.settle", "PT5S"));
+    private final List<String> extraJvmArgs = split(System.getProperty("startup.jvm-args", ""));
+    private final Path reportFile = Path.of(System.getProperty("startup.report", "build/reports/startup/summary.txt"));
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    public static void main(String[] args) throws Exception {
+        String brokers = System.getProperty("startup.kafka");
+        EmbeddedKafkaZKBroker embedded = null;
+        if (brokers == null) {
+            embedded = new EmbeddedKafkaZKBroker(1, false, 3, "booking-events");
+            embedded.afterPropertiesSet();
+            brokers = embedded.getBrokersAsString();
+        }
+        try {
+            new StartupBenchmark().run(brokers);
+        } finally {
+            if (embedded != null) {
+                embedded.destroy();
+            }
+        }
+    }
+
+    private void run(String brokers) throws Exception {
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("baseline", List.of());
+        variants.put("lazy-profile", List.of("--spring.profiles.active=" + profiles));
+        variants.put("aot+cds+profile", List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + cdsArchive,
+                "--spring.profiles.active=" + profiles));
+
+        Map<String, List<Sample>> samples = new LinkedHashMap<>();
+        variants.keySet().forEach(name -> samples.put(name, new ArrayList<>()));
+        Files.createDirectories(reportFile.getParent());
+        for (int round = 1; round <= runs; round++) {
+            for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+                Sample sample = start(variant.getKey(), round, variant.getValue(), brokers);
+                samples.get(variant.getKey()).add(sample);
+                System.out.printf("%-16s run %d: first /api/bookings/all after %d ms, RSS %d MB, settled %d MB%n",
+                        variant.getKey(), round, sample.firstOkMillis(), sample.rssAtFirstOkMb(), sample.rssSettledMb());
+            }
+        }
+
+        String summary = format(samples);
+        System.out.println();
+        System.out.println(summary);
+        Files.writeString(reportFile, summary);
+    }
+
+    private Sample start(String variant, int round, List<String> options, String brokers) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(extraJvmArgs);
+        options.stream().filter(option -> option.startsWith("-") && !option.startsWith("--")).forEach(command::add);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(MAIN_CLASS);
+        options.stream().filter(option -> option.startsWith("--")).forEach(command::add);
+        command.add("--server.port=" + port);
+        command.add("--spring.kafka.bootstrap-servers=" + brokers);
+
+        Path log = reportFile.resolveSibling(variant.replace('+', '-') + "-" + round + ".log");
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile());
+        long launched = System.nanoTime();
+        Process process = builder.start();
+        try {
+            awaitFirstOk(process, port, log);
+            long firstOk = (System.nanoTime() - launched) / 1_000_000;
+            long rssAtFirstOk = rssKb(process.pid());
+            Thread.sleep(settle.toMillis());
+            return new Sample(firstOk, rssAtFirstOk / 1024, rssKb(process.pid()) / 1024);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private void awaitFirstOk(Process process, int port, Path log) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/bookings/all"))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException notListeningYet) {
+                // Keep polling until Tomcat accepts connections.
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        throw new IllegalStateException("No 200 from /api/bookings/all within " + START_TIMEOUT + ", see " + log);
+    }
+
+    private static long rssKb(long pid) throws IOException, InterruptedException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (Files.exists(status)) {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        }
+        Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", Long.toString(pid)).start();
+        String out = new String(ps.getInputStream().readAllBytes()).trim();
+        ps.waitFor();
+        return out.isEmpty() ? -1 : Long.parseLong(out);
+    }
+
+    private String format(Map<String, List<Sample>> samples) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-16s %5s %14s %14s %14s %16s%n",
+                "variant", "runs", "first-ok p50", "first-ok min", "rss p50(MB)", "settled p50(MB)"));
+        for (Map.Entry<String, List<Sample>> entry : samples.entrySet()) {
+            List<Sample> list = entry.getValue();
+            long[] firstOk = list.stream().mapToLong(Sample::firstOkMillis).sorted().toArray();
+            long[] rss = list.stream().mapToLong(Sample::rssAtFirstOkMb).sorted().toArray();
+            long[] settled = list.stream().mapToLong(Sample::rssSettledMb).sorted().toArray();
+            out.append(String.format("%-16s %5d %11d ms %11d ms %14d %16d%n", entry.getKey(), list.size(),
+                    median(firstOk), firstOk[0], median(rss), median(settled)));
+        }
+        return out.toString();
+    }
+
+    private static long median(long[] sorted) {
+        return sorted[sorted.length / 2];
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String required(String property) {
+        String value = System.getProperty(property);
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException(property + " is not set; run ./gradlew startupBenchmark");
+        }
+        return value;
+    }
+
+    private static List<String> split(String value) {
+        return value.isBlank() ? List.of() : Arrays.asList(value.trim().split("\\s+"));
+    }
+
+    private record Sample(long firstOkMillis, long rssAtFirstOkMb, long rssSettledMb) {}
+}
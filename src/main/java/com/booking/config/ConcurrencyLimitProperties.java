@@ -0,0 +1,123 @@
+package com.booking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "booking.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    private List<String> paths = new ArrayList<>(List.of("/api/bookings/**", "/bookings/**"));
+    private Limit read = new Limit(40, 8, 400, Duration.ofMillis(20));
+    private Limit write = new Limit(20, 4, 200, Duration.ofMillis(50));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+        this.paths = paths;
+    }
+
+    public Limit getRead() {
+        return read;
+    }
+
+    public void setRead(Limit read) {
+        this.read = read;
+    }
+
+    public Limit getWrite() {
+        return write;
+    }
+
+    public void setWrite(Limit write) {
+        this.write = write;
+    }
+
+    public static class Limit {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        private Duration maxQueueWait;
+        private int maxQueueLength = 100;
+        /** Ratio of recent to baseline latency tolerated before the limit starts shrinking. */
+        private double tolerance = 1.5;
+        private double smoothing = 0.2;
+
+        public Limit() {}
+
+        public Limit(int initialLimit, int minLimit, int maxLimit, Duration maxQueueWait) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.maxQueueWait = maxQueueWait;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public Duration getMaxQueueWait() {
+            return maxQueueWait;
+        }
+
+        public void setMaxQueueWait(Duration maxQueueWait) {
+            this.maxQueueWait = maxQueueWait;
+        }
+
+        public int getMaxQueueLength() {
+            return maxQueueLength;
+        }
+
+        public void setMaxQueueLength(int maxQueueLength) {
+            this.maxQueueLength = maxQueueLength;
+        }
+
+        public double getTolerance() {
+            return tolerance;
+        }
+
+        public void setTolerance(double tolerance) {
+            this.tolerance = tolerance;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+    }
+}
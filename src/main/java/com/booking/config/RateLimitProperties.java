@@ -0,0 +1,127 @@
+package com.booking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "booking.rate-limit")
+public class RateLimitProperties {
+    public enum KeyStrategy {
+        /** The TCP peer address. */
+        REMOTE_ADDRESS,
+        /** The first address in X-Forwarded-For; only use behind a trusted proxy. */
+        FORWARDED_FOR,
+        /**
+         * The value of {@link #userHeader}, falling back to the remote address. The client sets
+         * that header, so a caller can pick a fresh key per request; only use this behind an
+         * authenticating proxy that overwrites the header with the verified user.
+         */
+        USER
+    }
+
+    private boolean enabled = true;
+    private long maxKeys = 100_000;
+    private KeyStrategy keyStrategy = KeyStrategy.REMOTE_ADDRESS;
+    private String userHeader = "X-User-Id";
+    private List<Policy> policies = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(long maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public KeyStrategy getKeyStrategy() {
+        return keyStrategy;
+    }
+
+    public void setKeyStrategy(KeyStrategy keyStrategy) {
+        this.keyStrategy = keyStrategy;
+    }
+
+    public String getUserHeader() {
+        return userHeader;
+    }
+
+    public void setUserHeader(String userHeader) {
+        this.userHeader = userHeader;
+    }
+
+    public List<Policy> getPolicies() {
+        return policies;
+    }
+
+    public void setPolicies(List<Policy> policies) {
+        this.policies = policies;
+    }
+
+    public static class Policy {
+        private String name;
+        private String path;
+        private List<String> methods = new ArrayList<>();
+        private long capacity = 10;
+        private Duration refillPeriod = Duration.ofMinutes(1);
+
+        public Policy() {}
+
+        public Policy(String name, String path, List<String> methods, long capacity, Duration refillPeriod) {
+            this.name = name;
+            this.path = path;
+            this.methods = methods;
+            this.capacity = capacity;
+            this.refillPeriod = refillPeriod;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public Duration getRefillPeriod() {
+            return refillPeriod;
+        }
+
+        public void setRefillPeriod(Duration refillPeriod) {
+            this.refillPeriod = refillPeriod;
+        }
+    }
+}
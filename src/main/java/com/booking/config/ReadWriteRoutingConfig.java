@@ -0,0 +1,78 @@
+package com.booking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured DataSource with primary + replica pools behind
+ * {@link ReadWriteRoutingDataSource} when {@code booking.datasource.routing.enabled=true}.
+ * The primary pool is still configured from {@code spring.datasource}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "booking.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class ReadWriteRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                        DataSourceRoutingProperties properties,
+                                                        ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            replicas.add(replica("replica-" + i, properties.getReplicas().get(i), registry));
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, properties.getReadYourWritesWindow(),
+                properties.getReplicaRetryInterval(), properties.getMaxTrackedClients(), registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static HikariDataSource replica(String name, DataSourceRoutingProperties.Replica settings,
+                                            MeterRegistry registry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(settings.getUrl());
+        dataSource.setUsername(settings.getUsername());
+        dataSource.setPassword(settings.getPassword());
+        if (settings.getDriverClassName() != null) {
+            dataSource.setDriverClassName(settings.getDriverClassName());
+        }
+        dataSource.setMaximumPoolSize(settings.getMaximumPoolSize());
+        dataSource.setConnectionTimeout(settings.getConnectionTimeout().toMillis());
+        dataSource.setReadOnly(true);
+        // A replica that is down at startup must not stop the application; reads fail over instead.
+        dataSource.setInitializationFailTimeout(-1);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        return dataSource;
+    }
+}
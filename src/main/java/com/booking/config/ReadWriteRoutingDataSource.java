@@ -0,0 +1,192 @@
+package com.booking.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sends connections for read-only transactions to a replica (round robin) and
+ * everything else to the primary. A client that committed a write within the
+ * read-your-writes window keeps reading from the primary, and a replica that fails
+ * to hand out a connection is skipped for the retry interval while its reads fall
+ * back to the primary. Reads whose results outlive the request, such as cache fills and
+ * in-memory indexes, pin their transaction to the primary with
+ * {@link #pinPrimaryForTransaction()}, so a lagging replica can't feed them pre-write data
+ * that would then be served long after the replica caught up.
+ * <p>
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * transaction managers fetch the connection before the read-only flag is published,
+ * and the proxy defers that until the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+    private static final ThreadLocal<String> currentClient = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> pinnedToPrimary = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    /** nanoTime until which each replica is skipped; 0 while it is healthy. */
+    private final AtomicLongArray replicaDownUntil;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final long retryIntervalNanos;
+    private final Cache<String, Boolean> recentWriters;
+    private final Counter writes;
+    private final Counter replicaReads;
+    private final Counter readYourWritesReads;
+    private final Counter pinnedReads;
+    private final Counter fallbackReads;
+    private final Counter failovers;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration readYourWritesWindow,
+                                      Duration replicaRetryInterval, int maxTrackedClients,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.replicaDownUntil = new AtomicLongArray(replicas.size());
+        this.retryIntervalNanos = replicaRetryInterval.toNanos();
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxTrackedClients)
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+        this.writes = route(meterRegistry, "primary", "write");
+        this.replicaReads = route(meterRegistry, "replica", "read");
+        this.readYourWritesReads = route(meterRegistry, "primary", "read-your-writes");
+        this.pinnedReads = route(meterRegistry, "primary", "pinned");
+        this.fallbackReads = route(meterRegistry, "primary", "no-replica");
+        this.failovers = Counter.builder("booking.datasource.failover")
+                .description("Replica connection failures that fell back to another pool")
+                .register(meterRegistry);
+    }
+
+    /** Binds the client whose writes should be visible to its own subsequent reads. */
+    public static void bindClient(String client) {
+        currentClient.set(client);
+    }
+
+    public static void clearClient() {
+        currentClient.remove();
+    }
+
+    /**
+     * Sends the rest of the current transaction to the primary even if it is read-only.
+     * Must be called before the transaction's first statement, which picks the connection;
+     * outside a transaction it does nothing.
+     */
+    public static void pinPrimaryForTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || pinnedToPrimary.get() != null) {
+            return;
+        }
+        pinnedToPrimary.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                pinnedToPrimary.remove();
+            }
+        });
+    }
+
+    /** Wraps a task so it runs with the submitting thread's client binding. */
+    public static Runnable withCurrentClient(Runnable task) {
+        String client = currentClient.get();
+        return () -> {
+            currentClient.set(client);
+            try {
+                task.run();
+            } finally {
+                currentClient.remove();
+            }
+        };
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriteOnCommit();
+            writes.increment();
+            return open(primary, username, password);
+        }
+        if (pinnedToPrimary.get() != null) {
+            pinnedReads.increment();
+            return open(primary, username, password);
+        }
+        String client = currentClient.get();
+        if (client != null && recentWriters.getIfPresent(client) != null) {
+            readYourWritesReads.increment();
+            return open(primary, username, password);
+        }
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            int index = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+            long downUntil = replicaDownUntil.get(index);
+            if (downUntil != 0 && System.nanoTime() - downUntil < 0) {
+                continue;
+            }
+            try {
+                Connection connection = open(replicas.get(index), username, password);
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                replicaDownUntil.set(index, System.nanoTime() + retryIntervalNanos);
+                failovers.increment();
+                logger.warn("Replica {} unavailable, skipping it for {} ms: {}",
+                        index, retryIntervalNanos / 1_000_000, e.getMessage());
+            }
+        }
+        fallbackReads.increment();
+        return open(primary, username, password);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private void rememberWriteOnCommit() {
+        String client = currentClient.get();
+        if (client == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(client, Boolean.TRUE);
+            }
+        });
+    }
+
+    private static Connection open(DataSource dataSource, String username, String password) throws SQLException {
+        return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+    }
+
+    private static Counter route(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("booking.datasource.route")
+                .description("Connections handed out by the read/write routing DataSource")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
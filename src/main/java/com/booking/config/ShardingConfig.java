@@ -0,0 +1,93 @@
+package com.booking.config;
+
+import com.booking.sharding.BookingShards;
+import com.booking.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource with one pool per entry of
+ * {@code booking.sharding.shards} behind {@link ShardRoutingDataSource} when
+ * {@code booking.sharding.enabled=true}. Not combinable with read replica routing.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "booking.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfig.class);
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties,
+                                                        ObjectProvider<MeterRegistry> meterRegistry) {
+        List<ShardingProperties.Shard> shards = properties.getShards();
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("booking.sharding.enabled=true but no booking.sharding.shards configured");
+        }
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i, shard("shard-" + i, shards.get(i), registry));
+        }
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(targets.get(0));
+        routing.setLenientFallback(false);
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public SmartInitializingSingleton shardSchemaInitializer(ShardingProperties properties,
+                                                             EntityManagerFactory entityManagerFactory,
+                                                             BookingShards bookingShards) {
+        return () -> {
+            if (!properties.isInitializeSchema()) {
+                return;
+            }
+            // Hibernate's ddl-auto only ran against shard 0.
+            SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+            for (int shard = 1; shard < bookingShards.count(); shard++) {
+                bookingShards.onShard(shard, () -> sessionFactory.getSchemaManager().exportMappedObjects(true));
+                logger.info("Initialized schema on booking shard {}", shard);
+            }
+        };
+    }
+
+    private static HikariDataSource shard(String name, ShardingProperties.Shard settings, MeterRegistry registry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(settings.getUrl());
+        dataSource.setUsername(settings.getUsername());
+        dataSource.setPassword(settings.getPassword());
+        if (settings.getDriverClassName() != null) {
+            dataSource.setDriverClassName(settings.getDriverClassName());
+        }
+        dataSource.setMaximumPoolSize(settings.getMaximumPoolSize());
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        return dataSource;
+    }
+}
@@ -0,0 +1,99 @@
+package com.booking.config;
+
+import com.booking.service.BookingCacheInvalidationListener;
+import com.booking.service.BookingEventConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Startup trimming used by the {@code fast-start} profile. With
+ * {@code spring.main.lazy-initialization} on, beans are created when first needed, but
+ * beans driven only by the scheduler, an event or a Kafka listener would then never be
+ * created, so they stay eager, as do {@link SmartInitializingSingleton} and
+ * {@link ApplicationListener} beans, which do their work from the context's callbacks.
+ * With {@code booking.startup.defer-kafka} the Kafka listener containers skip the context
+ * refresh and are started once the application serves requests, unless
+ * {@code spring.kafka.listener.auto-startup} is off.
+ */
+@Configuration
+public class StartupConfig {
+    private static final Logger logger = LoggerFactory.getLogger(StartupConfig.class);
+
+    private static final List<Class<? extends Annotation>> SELF_DRIVEN =
+            List.of(Scheduled.class, EventListener.class, KafkaListener.class);
+
+    private static final List<Class<?>> SELF_DRIVEN_TYPES =
+            List.of(SmartInitializingSingleton.class, ApplicationListener.class);
+
+    @Bean
+    public static LazyInitializationExcludeFilter selfDrivenBeansStayEager() {
+        return (beanName, beanDefinition, beanType) -> {
+            if (beanType == null) {
+                return false;
+            }
+            for (Class<?> type : SELF_DRIVEN_TYPES) {
+                if (type.isAssignableFrom(beanType)) {
+                    return true;
+                }
+            }
+            for (Method method : ReflectionUtils.getUniqueDeclaredMethods(ClassUtils.getUserClass(beanType))) {
+                for (Class<? extends Annotation> annotation : SELF_DRIVEN) {
+                    if (AnnotatedElementUtils.hasAnnotation(method, annotation)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "booking.startup.defer-kafka", havingValue = "true")
+    public ApplicationListener<ApplicationReadyEvent> deferredKafkaListenerStart(
+            KafkaListenerEndpointRegistry registry,
+            @Value("${spring.kafka.listener.auto-startup:true}") boolean autoStartup,
+            @Value("${booking.cache.user-bookings.remote-invalidation:true}") boolean remoteInvalidation) {
+        return event -> {
+            if (autoStartup) {
+                Thread.ofVirtual().name("kafka-listener-start")
+                        .start(() -> startListeners(registry, remoteInvalidation));
+            }
+        };
+    }
+
+    private static void startListeners(KafkaListenerEndpointRegistry registry, boolean remoteInvalidation) {
+        long start = System.nanoTime();
+        startListener(registry, BookingEventConsumer.LISTENER_ID);
+        if (remoteInvalidation) {
+            startListener(registry, BookingCacheInvalidationListener.LISTENER_ID);
+        }
+        logger.info("Deferred Kafka listeners started in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void startListener(KafkaListenerEndpointRegistry registry, String id) {
+        MessageListenerContainer container = registry.getListenerContainer(id);
+        if (container != null && !container.isRunning()) {
+            container.start();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.booking.controller;
+
+import com.booking.config.ReadWriteRoutingDataSource;
+import com.booking.dto.BookingBatchResult;
+import com.booking.dto.BookingFilter;
+import com.booking.dto.BookingPage;
+import com.booking.dto.BookingRequest;
+import com.booking.dto.BookingResponse;
+import com.booking.dto.SlotHoldResponse;
+import com.booking.service.BookingService;
+import com.booking.service.BookingVersions;
+import com.booking.service.SlotHoldService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking variant of {@link BookingRestController}, active with the {@code async}
+ * profile. Handlers hand the service call to a bounded worker pool and return a
+ * {@link CompletableFuture}, so the request thread goes back to Tomcat while the database
+ * work runs; the pool size caps concurrent database work and a full queue answers 503.
+ * Validation and ETag checks still run on the request thread, and NDJSON lists stream on
+ * the MVC async executor with the servlet output stream as backpressure.
+ */
+@RestController
+@Profile(AsyncBookingRestController.PROFILE)
+@RequestMapping("/api/bookings")
+@CrossOrigin(origins = "*")
+public class AsyncBookingRestController {
+    public static final String PROFILE = "async";
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private BookingVersions bookingVersions;
+    @Autowired
+    private SlotHoldService slotHoldService;
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    public AsyncBookingRestController(@Value("${booking.async-api.pool-size:20}") int poolSize,
+                                      @Value("${booking.async-api.queue-capacity:1000}") int queueCapacity) {
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("booking-api-");
+        // Worker threads need the caller's binding to keep its reads on the primary after a write.
+        executor.setTaskDecorator(ReadWriteRoutingDataSource::withCurrentClient);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @PostMapping("/add")
+    public CompletableFuture<ResponseEntity<BookingResponse>> addBooking(@Valid @RequestBody BookingRequest request) {
+        return async(() -> new ResponseEntity<>(bookingService.addBooking(request), HttpStatus.CREATED));
+    }
+
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<BookingBatchResult>> addBookings(@RequestBody List<BookingRequest> requests) {
+        return async(() -> new ResponseEntity<>(bookingService.addBookings(requests), HttpStatus.OK));
+    }
+
+    @PostMapping("/hold")
+    public ResponseEntity<SlotHoldResponse> holdSlot(@Valid @RequestBody BookingRequest request,
+                                                     @RequestParam(required = false) @Positive Integer ttlSeconds) {
+        // In-memory only, so it is answered on the request thread.
+        SlotHoldResponse hold = slotHoldService.hold(request, ttlSeconds == null ? null : Duration.ofSeconds(ttlSeconds));
+        return new ResponseEntity<>(hold, HttpStatus.CREATED);
+    }
+
+    @PostMapping("/hold/{holdId}/confirm")
+    public CompletableFuture<ResponseEntity<BookingResponse>> confirmHold(@PathVariable String holdId) {
+        return async(() -> new ResponseEntity<>(slotHoldService.confirm(holdId), HttpStatus.CREATED));
+    }
+
+    @DeleteMapping("/hold/{holdId}")
+    public ResponseEntity<Void> releaseHold(@PathVariable String holdId) {
+        slotHoldService.release(holdId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/cancel/{id}")
+    public CompletableFuture<ResponseEntity<BookingResponse>> cancelBooking(@PathVariable Long id) {
+        return async(() -> new ResponseEntity<>(bookingService.cancelBooking(id), HttpStatus.OK));
+    }
+
+    @PutMapping("/cancel/user/{userId}")
+    public CompletableFuture<ResponseEntity<List<BookingResponse>>> cancelUserBookings(@PathVariable String userId) {
+        return async(() -> new ResponseEntity<>(bookingService.cancelUserBookings(userId), HttpStatus.OK));
+    }
+
+    @PutMapping("/cancel/resource/{resourceId}")
+    public CompletableFuture<ResponseEntity<List<BookingResponse>>> cancelResourceBookings(
+            @PathVariable String resourceId) {
+        return async(() -> new ResponseEntity<>(bookingService.cancelResourceBookings(resourceId), HttpStatus.OK));
+    }
+
+    @GetMapping("/all")
+    public CompletableFuture<ResponseEntity<List<BookingResponse>>> getAllActiveBookings(WebRequest request) {
+        String etag = bookingVersions.globalTag();
+        if (etag != null && request.checkNotModified(etag)) {
+            return CompletableFuture.completedFuture(notModified(etag));
+        }
+        return async(() -> listResponse(etag, bookingService.getAllActiveBookings()));
+    }
+
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllBookings(
+            @RequestParam(required = false) String resourceId,
+            @RequestParam(defaultValue = "ACTIVE") String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ndjson(filter(null, resourceId, status, from, to));
+    }
+
+    @GetMapping("/page")
+    public CompletableFuture<ResponseEntity<BookingPage>> getBookingPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String resourceId,
+            @RequestParam(defaultValue = "ACTIVE") String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        BookingFilter filter = filter(null, resourceId, status, from, to);
+        return async(() -> new ResponseEntity<>(bookingService.getBookingPage(filter, cursor, limit), HttpStatus.OK));
+    }
+
+    @GetMapping("/user/{userId}")
+    public CompletableFuture<ResponseEntity<List<BookingResponse>>> getUserBookings(@PathVariable String userId,
+                                                                                    WebRequest request) {
+        String etag = bookingVersions.userTag(userId);
+        if (etag != null && request.checkNotModified(etag)) {
+            return CompletableFuture.completedFuture(notModified(etag));
+        }
+        return async(() -> listResponse(etag, bookingService.getUserBookings(userId)));
+    }
+
+    @GetMapping(value = "/user/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUserBookings(
+            @PathVariable String userId,
+            @RequestParam(required = false) String resourceId,
+            @RequestParam(defaultValue = "ACTIVE") String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ndjson(filter(userId, resourceId, status, from, to));
+    }
+
+    @GetMapping("/user/{userId}/page")
+    public CompletableFuture<ResponseEntity<BookingPage>> getUserBookingPage(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String resourceId,
+            @RequestParam(defaultValue = "ACTIVE") String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        BookingFilter filter = filter(userId, resourceId, status, from, to);
+        return async(() -> new ResponseEntity<>(bookingService.getBookingPage(filter, cursor, limit), HttpStatus.OK));
+    }
+
+    @GetMapping("/archive/user/{userId}")
+    public CompletableFuture<ResponseEntity<BookingPage>> getArchivedUserBookings(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String resourceId,
+            @RequestParam(defaultValue = BookingResponses.ALL_STATUSES) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        BookingFilter filter = filter(userId, resourceId, status, from, to);
+        return async(() -> new ResponseEntity<>(bookingService.getArchivedPage(filter, cursor, limit), HttpStatus.OK));
+    }
+
+    @GetMapping("/archive/resource/{resourceId}")
+    public CompletableFuture<ResponseEntity<BookingPage>> getArchivedResourceBookings(
+            @PathVariable String resourceId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = BookingResponses.ALL_STATUSES) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        BookingFilter filter = filter(null, resourceId, status, from, to);
+        return async(() -> new ResponseEntity<>(bookingService.getArchivedPage(filter, cursor, limit), HttpStatus.OK));
+    }
+
+    /**
+     * Runs the call on the worker pool. Exceptions reach {@code GlobalExceptionHandler}
+     * unwrapped; a full queue throws {@code TaskRejectedException} on the request thread.
+     */
+    private <T> CompletableFuture<T> async(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, executor);
+    }
+
+    private static ResponseEntity<List<BookingResponse>> listResponse(String etag, List<BookingResponse> bookings) {
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT).body(bookings);
+    }
+
+    private static ResponseEntity<List<BookingResponse>> notModified(String etag) {
+        // The 304 is decided on the request thread; the async redispatch has no memory of it.
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT).build();
+    }
+
+    private BookingFilter filter(String userId, String resourceId, String status,
+                                 LocalDateTime from, LocalDateTime to) {
+        return BookingResponses.filter(userId, resourceId, status, from, to);
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(BookingFilter filter) {
+        return BookingResponses.ndjson(bookingService, objectMapper, filter);
+    }
+}
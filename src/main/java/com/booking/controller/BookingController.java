@@ -1,25 +1,38 @@
 package com.booking.controller;
 
 import com.booking.dto.BookingRequest;
+import com.booking.dto.BookingResponse;
 import com.booking.service.BookingService;
+import com.booking.service.BookingVersions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.validation.Valid;
+import java.util.List;
 
 @Controller
 @RequestMapping("/bookings")
 public class BookingController {
     @Autowired
     private BookingService bookingService;
+    @Autowired
+    private BookingVersions bookingVersions;
+
+    // Last list rendered by listBookings, reused until the global version moves.
+    private volatile ListSnapshot allActive;
 
     @GetMapping
-    public String listBookings(Model model) {
-        model.addAttribute("bookings", bookingService.getAllActiveBookings());
+    public String listBookings(Model model, WebRequest request) {
+        String etag = bookingVersions.globalTag();
+        if (notModified(model, request, etag)) {
+            return null;
+        }
+        model.addAttribute("bookings", allActiveBookings(etag));
         model.addAttribute("bookingRequest", new BookingRequest());
         return "bookings/list";
     }
@@ -30,7 +43,7 @@ public class BookingController {
                              Model model,
                              RedirectAttributes redirectAttributes) {
         if (bindingResult.hasErrors()) {
-            model.addAttribute("bookings", bookingService.getAllActiveBookings());
+            model.addAttribute("bookings", allActiveBookings(bookingVersions.globalTag()));
             return "bookings/list";
         }
         try {
@@ -54,9 +67,36 @@ public class BookingController {
     }
 
     @GetMapping("/user/{userId}")
-    public String getUserBookings(@PathVariable String userId, Model model) {
+    public String getUserBookings(@PathVariable String userId, Model model, WebRequest request) {
+        if (notModified(model, request, bookingVersions.userTag(userId))) {
+            return null;
+        }
         model.addAttribute("bookings", bookingService.getUserBookings(userId));
         model.addAttribute("userId", userId);
         return "bookings/user-bookings";
     }
+
+    /**
+     * A page carrying flash messages from a redirect is never answered with 304, since
+     * a failed add or cancel leaves the version unchanged but must still show its error.
+     */
+    private static boolean notModified(Model model, WebRequest request, String etag) {
+        return etag != null && model.asMap().isEmpty() && request.checkNotModified(etag);
+    }
+
+    private List<BookingResponse> allActiveBookings(String version) {
+        if (version == null) {
+            // Without versions there is no telling whether the snapshot is still current.
+            return bookingService.getAllActiveBookings();
+        }
+        ListSnapshot snapshot = allActive;
+        if (snapshot == null || !snapshot.version().equals(version)) {
+            // The version was read before the query, so the list is at least that new.
+            snapshot = new ListSnapshot(version, bookingService.getAllActiveBookings());
+            allActive = snapshot;
+        }
+        return snapshot.bookings();
+    }
+
+    private record ListSnapshot(String version, List<BookingResponse> bookings) {}
 }
\ No newline at end of file
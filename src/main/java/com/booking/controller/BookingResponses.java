@@ -0,0 +1,52 @@
+package com.booking.controller;
+
+import com.booking.dto.BookingFilter;
+import com.booking.dto.BookingResponse;
+import com.booking.service.BookingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+/**
+ * Request filters and NDJSON streaming shared by the blocking and the async booking
+ * controllers. The stream writes each row to the servlet output stream as it is read,
+ * so a slow client holds back the database cursor instead of filling the heap.
+ */
+final class BookingResponses {
+    static final String ALL_STATUSES = "ALL";
+
+    private BookingResponses() {}
+
+    static BookingFilter filter(String userId, String resourceId, String status,
+                                LocalDateTime from, LocalDateTime to) {
+        String statusFilter = ALL_STATUSES.equalsIgnoreCase(status) ? null : status.toUpperCase();
+        return new BookingFilter(userId, resourceId, statusFilter, from, to);
+    }
+
+    static ResponseEntity<StreamingResponseBody> ndjson(BookingService bookingService, ObjectMapper objectMapper,
+                                                        BookingFilter filter) {
+        StreamingResponseBody body = out -> {
+            try {
+                bookingService.streamBookings(filter, booking -> writeLine(objectMapper, out, booking));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private static void writeLine(ObjectMapper objectMapper, OutputStream out, BookingResponse booking) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(booking));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,22 +1,50 @@
 package com.booking.controller;
 
+import com.booking.dto.BookingBatchResult;
+import com.booking.dto.BookingFilter;
+import com.booking.dto.BookingPage;
 import com.booking.dto.BookingRequest;
 import com.booking.dto.BookingResponse;
+import com.booking.dto.SlotHoldResponse;
 import com.booking.service.BookingService;
+import com.booking.service.BookingVersions;
+import com.booking.service.SlotHoldService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Blocking booking API: each handler holds its request thread for the service call.
+ * This is the default; the {@code async} profile swaps in {@link AsyncBookingRestController}.
+ */
 @RestController
+@Profile("!" + AsyncBookingRestController.PROFILE)
 @RequestMapping("/api/bookings")
 @CrossOrigin(origins = "*")
 public class BookingRestController {
     @Autowired
     private BookingService bookingService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private BookingVersions bookingVersions;
+    @Autowired
+    private SlotHoldService slotHoldService;
 
     @PostMapping("/add")
     public ResponseEntity<BookingResponse> addBooking(@Valid @RequestBody BookingRequest request) {
@@ -24,21 +52,147 @@ public class BookingRestController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BookingBatchResult> addBookings(@RequestBody List<BookingRequest> requests) {
+        BookingBatchResult result = bookingService.addBookings(requests);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @PostMapping("/hold")
+    public ResponseEntity<SlotHoldResponse> holdSlot(@Valid @RequestBody BookingRequest request,
+                                                     @RequestParam(required = false) @Positive Integer ttlSeconds) {
+        SlotHoldResponse hold = slotHoldService.hold(request, ttlSeconds == null ? null : Duration.ofSeconds(ttlSeconds));
+        return new ResponseEntity<>(hold, HttpStatus.CREATED);
+    }
+
+    @PostMapping("/hold/{holdId}/confirm")
+    public ResponseEntity<BookingResponse> confirmHold(@PathVariable String holdId) {
+        BookingResponse response = slotHoldService.confirm(holdId);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/hold/{holdId}")
+    public ResponseEntity<Void> releaseHold(@PathVariable String holdId) {
+        slotHoldService.release(holdId);
+        return ResponseEntity.noContent().build();
+    }
+
     @PutMapping("/cancel/{id}")
     public ResponseEntity<BookingResponse> cancelBooking(@PathVariable Long id) {
         BookingResponse response = bookingService.cancelBooking(id);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @PutMapping("/cancel/user/{userId}")
+    public ResponseEntity<List<BookingResponse>> cancelUserBookings(@PathVariable String userId) {
+        List<BookingResponse> cancelled = bookingService.cancelUserBookings(userId);
+        return new ResponseEntity<>(cancelled, HttpStatus.OK);
+    }
+
+    @PutMapping("/cancel/resource/{resourceId}")
+    public ResponseEntity<List<BookingResponse>> cancelResourceBookings(@PathVariable String resourceId) {
+        List<BookingResponse> cancelled = bookingService.cancelResourceBookings(resourceId);
+        return new ResponseEntity<>(cancelled, HttpStatus.OK);
+    }
+
     @GetMapping("/all")
-    public ResponseEntity<List<BookingResponse>> getAllActiveBookings() {
+    public ResponseEntity<List<BookingResponse>> getAllActiveBookings(WebRequest request) {
+        // Read before the query: a write racing with it can only cost one extra 200.
+        String etag = bookingVersions.globalTag();
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         List<BookingResponse> bookings = bookingService.getAllActiveBookings();
-        return new ResponseEntity<>(bookings, HttpStatus.OK);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT).body(bookings);
+    }
+
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllBookings(
+            @RequestParam(required = false) String resourceId,
+            @RequestParam(defaultValue = "ACTIVE") String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ndjson(filter(null, resourceId, status, from, to));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<BookingPage> getBookingPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String resourceId,
+            @RequestParam(defaultValue = "ACTIVE") String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        BookingPage page = bookingService.getBookingPage(filter(null, resourceId, status, from, to), cursor, limit);
+        return new ResponseEntity<>(page, HttpStatus.OK);
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<BookingResponse>> getUserBookings(@PathVariable String userId) {
+    public ResponseEntity<List<BookingResponse>> getUserBookings(@PathVariable String userId, WebRequest request) {
+        String etag = bookingVersions.userTag(userId);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         List<BookingResponse> bookings = bookingService.getUserBookings(userId);
-        return new ResponseEntity<>(bookings, HttpStatus.OK);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT).body(bookings);
+    }
+
+    @GetMapping(value = "/user/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUserBookings(
+            @PathVariable String userId,
+            @RequestParam(required = false) String resourceId,
+            @RequestParam(defaultValue = "ACTIVE") String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ndjson(filter(userId, resourceId, status, from, to));
+    }
+
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<BookingPage> getUserBookingPage(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String resourceId,
+            @RequestParam(defaultValue = "ACTIVE") String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        BookingPage page = bookingService.getBookingPage(filter(userId, resourceId, status, from, to), cursor, limit);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/archive/user/{userId}")
+    public ResponseEntity<BookingPage> getArchivedUserBookings(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String resourceId,
+            @RequestParam(defaultValue = BookingResponses.ALL_STATUSES) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        BookingPage page = bookingService.getArchivedPage(filter(userId, resourceId, status, from, to), cursor, limit);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/archive/resource/{resourceId}")
+    public ResponseEntity<BookingPage> getArchivedResourceBookings(
+            @PathVariable String resourceId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = BookingResponses.ALL_STATUSES) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        BookingPage page = bookingService.getArchivedPage(filter(null, resourceId, status, from, to), cursor, limit);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    private BookingFilter filter(String userId, String resourceId, String status,
+                                 LocalDateTime from, LocalDateTime to) {
+        return BookingResponses.filter(userId, resourceId, status, from, to);
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(BookingFilter filter) {
+        return BookingResponses.ndjson(bookingService, objectMapper, filter);
     }
-}
\ No newline at end of file
+}
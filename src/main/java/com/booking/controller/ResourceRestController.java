@@ -0,0 +1,45 @@
+package com.booking.controller;
+
+import com.booking.dto.AvailabilityResponse;
+import com.booking.exception.InvalidAvailabilityQueryException;
+import com.booking.service.ResourceAvailability;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Per-resource queries answered from in-memory indexes. Served in both the blocking and
+ * the async REST mode, since nothing here waits on the database.
+ */
+@RestController
+@RequestMapping("/api/resources")
+public class ResourceRestController {
+
+    @Autowired
+    private ResourceAvailability resourceAvailability;
+
+    @GetMapping("/{resourceId}/availability")
+    public ResponseEntity<AvailabilityResponse> getAvailability(
+            @PathVariable String resourceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "30m") String slot) {
+        Duration length = parseSlot(slot);
+        return ResponseEntity.ok(new AvailabilityResponse(resourceId, from, to, length.toMinutes(),
+                resourceAvailability.freeSlots(resourceId, from, to, length)));
+    }
+
+    private static Duration parseSlot(String slot) {
+        try {
+            // Accepts "30m", "1h" as well as ISO-8601 ("PT30M").
+            return DurationStyle.detectAndParse(slot);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidAvailabilityQueryException("Invalid slot length '" + slot + "'");
+        }
+    }
+}
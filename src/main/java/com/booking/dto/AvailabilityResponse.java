@@ -0,0 +1,63 @@
+package com.booking.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class AvailabilityResponse {
+    private String resourceId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long slotMinutes;
+    private List<LocalDateTime> freeSlots;
+
+    public AvailabilityResponse() {}
+
+    public AvailabilityResponse(String resourceId, LocalDateTime from, LocalDateTime to, long slotMinutes,
+                                List<LocalDateTime> freeSlots) {
+        this.resourceId = resourceId;
+        this.from = from;
+        this.to = to;
+        this.slotMinutes = slotMinutes;
+        this.freeSlots = freeSlots;
+    }
+
+    public String getResourceId() {
+        return resourceId;
+    }
+
+    public void setResourceId(String resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public long getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public void setSlotMinutes(long slotMinutes) {
+        this.slotMinutes = slotMinutes;
+    }
+
+    public List<LocalDateTime> getFreeSlots() {
+        return freeSlots;
+    }
+
+    public void setFreeSlots(List<LocalDateTime> freeSlots) {
+        this.freeSlots = freeSlots;
+    }
+}
@@ -0,0 +1,55 @@
+package com.booking.dto;
+
+public class BookingBatchItemResult {
+    public static final String CREATED = "CREATED";
+    public static final String DUPLICATE = "DUPLICATE";
+    public static final String INVALID = "INVALID";
+    public static final String HELD = "HELD";
+    public static final String FAILED = "FAILED";
+
+    private int index;
+    private String status;
+    private BookingResponse booking;
+    private String message;
+
+    public BookingBatchItemResult() {}
+
+    public BookingBatchItemResult(int index, String status, BookingResponse booking, String message) {
+        this.index = index;
+        this.status = status;
+        this.booking = booking;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public BookingResponse getBooking() {
+        return booking;
+    }
+
+    public void setBooking(BookingResponse booking) {
+        this.booking = booking;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
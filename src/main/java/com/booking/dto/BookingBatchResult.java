@@ -0,0 +1,75 @@
+package com.booking.dto;
+
+import java.util.List;
+
+public class BookingBatchResult {
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private int held;
+    private int failed;
+    private List<BookingBatchItemResult> results;
+
+    public BookingBatchResult() {}
+
+    public BookingBatchResult(List<BookingBatchItemResult> results) {
+        this.results = results;
+        for (BookingBatchItemResult result : results) {
+            switch (result.getStatus()) {
+                case BookingBatchItemResult.CREATED -> created++;
+                case BookingBatchItemResult.DUPLICATE -> duplicates++;
+                case BookingBatchItemResult.HELD -> held++;
+                case BookingBatchItemResult.FAILED -> failed++;
+                default -> invalid++;
+            }
+        }
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(int duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    public int getInvalid() {
+        return invalid;
+    }
+
+    public void setInvalid(int invalid) {
+        this.invalid = invalid;
+    }
+
+    public int getHeld() {
+        return held;
+    }
+
+    public void setHeld(int held) {
+        this.held = held;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BookingBatchItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BookingBatchItemResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,62 @@
+package com.booking.dto;
+
+import java.time.LocalDateTime;
+
+public class BookingFilter {
+    private String userId;
+    private String resourceId;
+    private String status;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    public BookingFilter() {}
+
+    public BookingFilter(String userId, String resourceId, String status,
+                         LocalDateTime from, LocalDateTime to) {
+        this.userId = userId;
+        this.resourceId = resourceId;
+        this.status = status;
+        this.from = from;
+        this.to = to;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getResourceId() {
+        return resourceId;
+    }
+
+    public void setResourceId(String resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+}
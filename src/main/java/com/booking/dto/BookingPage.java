@@ -0,0 +1,31 @@
+package com.booking.dto;
+
+import java.util.List;
+
+public class BookingPage {
+    private List<BookingResponse> items;
+    private String nextCursor;
+
+    public BookingPage() {}
+
+    public BookingPage(List<BookingResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<BookingResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BookingResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
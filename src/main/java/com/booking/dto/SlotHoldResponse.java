@@ -0,0 +1,62 @@
+package com.booking.dto;
+
+import java.time.LocalDateTime;
+
+public class SlotHoldResponse {
+    private String holdId;
+    private String userId;
+    private String resourceId;
+    private LocalDateTime bookingDate;
+    private LocalDateTime expiresAt;
+
+    public SlotHoldResponse() {}
+
+    public SlotHoldResponse(String holdId, String userId, String resourceId, LocalDateTime bookingDate,
+                            LocalDateTime expiresAt) {
+        this.holdId = holdId;
+        this.userId = userId;
+        this.resourceId = resourceId;
+        this.bookingDate = bookingDate;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getHoldId() {
+        return holdId;
+    }
+
+    public void setHoldId(String holdId) {
+        this.holdId = holdId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getResourceId() {
+        return resourceId;
+    }
+
+    public void setResourceId(String resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    public LocalDateTime getBookingDate() {
+        return bookingDate;
+    }
+
+    public void setBookingDate(LocalDateTime bookingDate) {
+        this.bookingDate = bookingDate;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
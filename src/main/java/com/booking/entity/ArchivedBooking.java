@@ -0,0 +1,76 @@
+package com.booking.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a booking moved out of {@code bookings} by
+ * {@link com.booking.service.BookingArchiver}: cancelled bookings and bookings whose
+ * date has passed. Keeps the original id; rows are only written by the archiver's
+ * INSERT ... SELECT.
+ */
+@Entity
+@Table(name = "bookings_archive",
+        indexes = {
+                @Index(name = "idx_archive_user_date", columnList = "user_id, booking_date"),
+                @Index(name = "idx_archive_resource_date", columnList = "resource_id, booking_date")
+        })
+public class ArchivedBooking {
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "resource_id", nullable = false)
+    private String resourceId;
+
+    @Column(name = "booking_date", nullable = false)
+    private LocalDateTime bookingDate;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    public ArchivedBooking() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getResourceId() {
+        return resourceId;
+    }
+
+    public LocalDateTime getBookingDate() {
+        return bookingDate;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
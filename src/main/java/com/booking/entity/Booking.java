@@ -1,14 +1,33 @@
 package com.booking.entity;
 
+import com.booking.sharding.ShardedSequenceGenerator;
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "bookings",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "resource_id", "booking_date"}))
+        uniqueConstraints = @UniqueConstraint(name = Booking.SLOT_CONSTRAINT,
+                columnNames = {"user_id", "resource_id", "booking_date"}),
+        indexes = {
+                // Equality columns first, then booking_date so the ORDER BY / range is served by the index.
+                @Index(name = "idx_booking_status_date", columnList = "status, booking_date"),
+                @Index(name = "idx_booking_user_status", columnList = "user_id, status, booking_date"),
+                @Index(name = "idx_booking_resource_status", columnList = "resource_id, status, booking_date")
+        })
 public class Booking {
+    public static final String SLOT_CONSTRAINT = "uk_booking_slot";
+
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts. When sharded,
+    // each shard draws from its own sequence and the shard goes into the id's low bits.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "booking_seq")
+    @GenericGenerator(name = "booking_seq", type = ShardedSequenceGenerator.class, parameters = {
+            @Parameter(name = "sequence_name", value = "booking_seq"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled")
+    })
     private Long id;
 
     @Column(name = "user_id", nullable = false)
@@ -29,6 +48,9 @@ public class Booking {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -104,5 +126,13 @@ public class Booking {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 // Getters and Setters...
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.booking.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized read model of bookings, maintained from {@code booking-events} by
+ * {@link com.booking.service.BookingEventConsumer}. Rows are never written by JPA.
+ */
+@Entity
+@Table(name = "booking_views",
+        indexes = {
+                @Index(name = "idx_view_user_status", columnList = "user_id, status, booking_date"),
+                @Index(name = "idx_view_resource_status", columnList = "resource_id, status, booking_date")
+        })
+public class BookingView {
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "resource_id", nullable = false)
+    private String resourceId;
+
+    @Column(name = "booking_date", nullable = false)
+    private LocalDateTime bookingDate;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public BookingView() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getResourceId() {
+        return resourceId;
+    }
+
+    public LocalDateTime getBookingDate() {
+        return bookingDate;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
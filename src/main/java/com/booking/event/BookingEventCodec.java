@@ -0,0 +1,125 @@
+package com.booking.event;
+
+import com.booking.dto.BookingResponse;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary encoding of booking events: a zero magic byte, a schema version byte and a
+ * CBOR array of the fields in schema order. Timestamps are epoch microseconds of the
+ * wall-clock time, and the human-readable message is not carried. A JSON document
+ * never starts with a zero byte, so readers can tell the two formats apart.
+ *
+ * <p>Schema version 1: {@code [id, userId, resourceId, bookingDate, status, createdAt]}.
+ * Readers skip trailing elements they don't know, so fields may be appended without a
+ * version bump; anything else needs a new version.
+ */
+public final class BookingEventCodec {
+    public static final byte MAGIC = 0;
+    public static final byte SCHEMA_VERSION = 1;
+
+    private static final CBORFactory CBOR = new CBORFactory();
+    private static final int FIELDS = 6;
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private BookingEventCodec() {}
+
+    public static boolean isBinary(byte[] data) {
+        return data.length > 0 && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(BookingResponse event) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(96);
+        out.write(MAGIC);
+        out.write(SCHEMA_VERSION);
+        try (CBORGenerator generator = CBOR.createGenerator(out)) {
+            generator.writeStartArray(event, FIELDS);
+            writeLong(generator, event.getId());
+            writeString(generator, event.getUserId());
+            writeString(generator, event.getResourceId());
+            writeLong(generator, toMicros(event.getBookingDate()));
+            writeString(generator, event.getStatus());
+            writeLong(generator, toMicros(event.getCreatedAt()));
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static BookingResponse decode(byte[] data) {
+        if (!isBinary(data) || data.length < 2) {
+            throw new IllegalArgumentException("Not a binary booking event");
+        }
+        if (data[1] != SCHEMA_VERSION) {
+            throw new IllegalArgumentException("Unsupported booking event schema version " + data[1]);
+        }
+        try (CBORParser parser = CBOR.createParser(data, 2, data.length - 2)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Booking event is not a CBOR array");
+            }
+            BookingResponse event = new BookingResponse(
+                    readLong(parser),
+                    readString(parser),
+                    readString(parser),
+                    fromMicros(readLong(parser)),
+                    readString(parser),
+                    fromMicros(readLong(parser)));
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+            }
+            return event;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed booking event", e);
+        }
+    }
+
+    private static void writeLong(CBORGenerator generator, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeString(CBORGenerator generator, String value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    private static Long readLong(CBORParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        return token == JsonToken.VALUE_NULL ? null : parser.getLongValue();
+    }
+
+    private static String readString(CBORParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        return token == JsonToken.VALUE_NULL ? null : parser.getText();
+    }
+
+    private static Long toMicros(LocalDateTime time) {
+        if (time == null) {
+            return null;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(Long micros) {
+        if (micros == null) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                (int) Math.floorMod(micros, MICROS_PER_SECOND) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,32 @@
+package com.booking.event;
+
+import com.booking.dto.BookingResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.io.IOException;
+
+/**
+ * Reads booking events in either format: {@link BookingEventCodec} binary, or the
+ * JSON written by older producers and by {@link BookingEventSerializer} in json mode.
+ */
+public class BookingEventDeserializer implements Deserializer<BookingResponse> {
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+
+    @Override
+    public BookingResponse deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        try {
+            if (BookingEventCodec.isBinary(data)) {
+                return BookingEventCodec.decode(data);
+            }
+            return objectMapper.readValue(data, BookingResponse.class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new SerializationException("Cannot deserialize booking event from " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.booking.event;
+
+import com.booking.dto.BookingResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.util.Map;
+
+/**
+ * Writes booking events with {@link BookingEventCodec}. Setting the producer property
+ * {@value #FORMAT_CONFIG} to {@code json} writes plain JSON instead, which every
+ * {@link BookingEventDeserializer} still reads, so a rollout can be reverted.
+ */
+public class BookingEventSerializer implements Serializer<BookingResponse> {
+    public static final String FORMAT_CONFIG = "booking.events.format";
+
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+    private boolean json;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object format = configs.get(FORMAT_CONFIG);
+        json = format != null && "json".equalsIgnoreCase(format.toString());
+    }
+
+    @Override
+    public byte[] serialize(String topic, BookingResponse event) {
+        if (event == null) {
+            return null;
+        }
+        if (!json) {
+            return BookingEventCodec.encode(event);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("Cannot serialize booking event " + event.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.booking.exception;
+
+public class AvailabilityNotReadyException extends RuntimeException {
+    public AvailabilityNotReadyException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,31 @@
 package com.booking.exception;
 
+import com.booking.entity.Booking;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
 public class DuplicateBookingException extends RuntimeException {
     public DuplicateBookingException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+
+    /**
+     * Whether {@code e} is a violation of {@link Booking#SLOT_CONSTRAINT}, i.e. the slot is
+     * already taken, rather than some other integrity error such as a missing column value.
+     */
+    public static boolean isSlotConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return namesSlotConstraint(violation.getConstraintName());
+            }
+        }
+        // Drivers whose errors Hibernate can't take a constraint name from still put it in the message.
+        return namesSlotConstraint(e.getMostSpecificCause().getMessage());
+    }
+
+    private static boolean namesSlotConstraint(String text) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(Booking.SLOT_CONSTRAINT);
+    }
+}
@@ -0,0 +1,7 @@
+package com.booking.exception;
+
+public class InvalidAvailabilityQueryException extends RuntimeException {
+    public InvalidAvailabilityQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.booking.exception;
+
+public class InvalidBookingStateException extends IllegalStateException {
+    public InvalidBookingStateException(String message) {
+        super(message);
+    }
+}
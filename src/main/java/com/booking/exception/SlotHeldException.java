@@ -0,0 +1,7 @@
+package com.booking.exception;
+
+public class SlotHeldException extends RuntimeException {
+    public SlotHeldException(String message) {
+        super(message);
+    }
+}
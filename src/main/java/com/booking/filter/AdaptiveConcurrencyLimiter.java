@@ -0,0 +1,134 @@
+package com.booking.filter;
+
+import com.booking.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gradient-style adaptive concurrency limit. A fast-moving average of request latency
+ * is compared with a slow-moving baseline: while they agree the limit creeps up by
+ * about sqrt(limit), and once recent latency exceeds {@code tolerance} times the
+ * baseline the limit shrinks in proportion. Requests over the limit may wait up to
+ * {@code maxQueueWait} for a slot and are rejected after that.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final double SHORT_WINDOW_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_WINDOW_ALPHA = 2.0 / (600 + 1);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long maxQueueWaitNanos;
+    private final int maxQueueLength;
+    private final double tolerance;
+    private final double smoothing;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final Counter rejections;
+    private volatile double limit;
+    private int inflight;
+    private int waiting;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(String name, ConcurrencyLimitProperties.Limit settings, MeterRegistry meterRegistry) {
+        this.minLimit = settings.getMinLimit();
+        this.maxLimit = settings.getMaxLimit();
+        this.maxQueueWaitNanos = settings.getMaxQueueWait() == null ? 0 : settings.getMaxQueueWait().toNanos();
+        this.maxQueueLength = settings.getMaxQueueLength();
+        this.tolerance = settings.getTolerance();
+        this.smoothing = settings.getSmoothing();
+        this.limit = settings.getInitialLimit();
+        this.rejections = Counter.builder("booking.concurrency.rejected")
+                .description("Requests shed because the concurrency limit was reached")
+                .tag("class", name)
+                .register(meterRegistry);
+        Gauge.builder("booking.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("class", name)
+                .register(meterRegistry);
+        Gauge.builder("booking.concurrency.inflight", this, AdaptiveConcurrencyLimiter::getInflight)
+                .description("Requests currently holding a concurrency slot")
+                .tag("class", name)
+                .register(meterRegistry);
+    }
+
+    public boolean acquire() {
+        lock.lock();
+        try {
+            if (inflight < (int) limit) {
+                inflight++;
+                return true;
+            }
+            if (maxQueueWaitNanos <= 0 || waiting >= maxQueueLength) {
+                rejections.increment();
+                return false;
+            }
+            long remaining = maxQueueWaitNanos;
+            waiting++;
+            try {
+                while (inflight >= (int) limit) {
+                    if (remaining <= 0) {
+                        rejections.increment();
+                        return false;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+            } finally {
+                waiting--;
+            }
+            inflight++;
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejections.increment();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(long rttNanos) {
+        lock.lock();
+        try {
+            int observedInflight = inflight;
+            inflight--;
+            update(rttNanos, observedInflight);
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight;
+    }
+
+    private void update(long rttNanos, int observedInflight) {
+        double rtt = Math.max(1, rttNanos);
+        shortRtt = shortRtt == 0 ? rtt : shortRtt + SHORT_WINDOW_ALPHA * (rtt - shortRtt);
+        longRtt = longRtt == 0 ? rtt : longRtt + LONG_WINDOW_ALPHA * (rtt - longRtt);
+        if (longRtt > shortRtt * 2) {
+            // Latency has recovered well below the baseline; let the baseline catch up.
+            longRtt *= 0.95;
+        }
+
+        double current = limit;
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        if (target > current && observedInflight < current / 2) {
+            // Not enough traffic to prove the higher limit is safe.
+            return;
+        }
+        double next = current * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
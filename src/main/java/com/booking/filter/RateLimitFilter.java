@@ -1,43 +1,162 @@
 package com.booking.filter;
 
+import com.booking.config.RateLimitProperties;
+import com.booking.config.RateLimitProperties.Policy;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
 import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Token-bucket rate limiting per route policy and client key. Buckets live in a
+ * size-bounded cache that expires them after the longest refill period, by which
+ * time an idle bucket is full again, so expiry never hands a client extra tokens.
+ * Eviction for size is different: once {@code max-keys} is reached, a partly drained
+ * bucket can be evicted and its client starts again from a full one. Size
+ * {@code max-keys} above the number of clients active within a refill period.
+ * Requests that match no policy are not limited. The {@code FORWARDED_FOR} and {@code USER}
+ * key strategies read headers the client controls and can be spoofed to dodge a limit;
+ * they are only sound behind a proxy that overwrites those headers.
+ */
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class RateLimitFilter implements Filter {
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String RETRY_AFTER_HEADER = "Retry-After";
 
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final RateLimitProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Cache<String, Bucket> buckets;
+    private final Map<String, Counter> allowed = new HashMap<>();
+    private final Map<String, Counter> rejected = new HashMap<>();
 
-    private Bucket resolveBucket(String key) {
-        return buckets.computeIfAbsent(key, k -> {
-            Bandwidth limit = Bandwidth.classic(10, Refill.greedy(10, Duration.ofMinutes(1)));
-            return Bucket.builder().addLimit(limit).build();
-        });
+    @Autowired
+    public RateLimitFilter(RateLimitProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(properties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        Duration idleTimeout = properties.getPolicies().stream()
+                .map(Policy::getRefillPeriod)
+                .max(Duration::compareTo)
+                .orElse(Duration.ofMinutes(1));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rateLimitBuckets");
+        for (Policy policy : properties.getPolicies()) {
+            allowed.put(policy.getName(), counter(meterRegistry, policy, "allowed"));
+            rejected.put(policy.getName(), counter(meterRegistry, policy, "rejected"));
+        }
     }
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
-        String ip = request instanceof HttpServletRequest req ? req.getRemoteAddr() : "unknown";
-        Bucket bucket = resolveBucket(ip);
+        if (!properties.isEnabled()
+                || !(request instanceof HttpServletRequest req)
+                || !(response instanceof HttpServletResponse resp)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Policy policy = resolvePolicy(req);
+        if (policy == null) {
+            chain.doFilter(request, response);
+            return;
+        }
 
-        if (bucket.tryConsume(1)) {
+        Bucket bucket = buckets.get(policy.getName() + '|' + resolveClientKey(req), k -> newBucket(policy));
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        resp.setHeader(LIMIT_HEADER, Long.toString(policy.getCapacity()));
+        resp.setHeader(REMAINING_HEADER, Long.toString(probe.getRemainingTokens()));
+        if (probe.isConsumed()) {
+            allowed.get(policy.getName()).increment();
             chain.doFilter(request, response);
         } else {
-            if (response instanceof HttpServletResponse resp) {
-                resp.setStatus(429);
-                resp.getWriter().write("Too Many Requests");
+            rejected.get(policy.getName()).increment();
+            long retryAfterSeconds = Math.max(1, (probe.getNanosToWaitForRefill() + 999_999_999L) / 1_000_000_000L);
+            resp.setHeader(RETRY_AFTER_HEADER, Long.toString(retryAfterSeconds));
+            resp.setStatus(429);
+            resp.getWriter().write("Too Many Requests");
+        }
+    }
+
+    long trackedKeys() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private Policy resolvePolicy(HttpServletRequest req) {
+        String path = req.getRequestURI().substring(req.getContextPath().length());
+        for (Policy policy : properties.getPolicies()) {
+            List<String> methods = policy.getMethods();
+            if ((methods.isEmpty() || methods.contains(req.getMethod()))
+                    && pathMatcher.match(policy.getPath(), path)) {
+                return policy;
             }
         }
+        return null;
+    }
+
+    private String resolveClientKey(HttpServletRequest req) {
+        switch (properties.getKeyStrategy()) {
+            case FORWARDED_FOR -> {
+                String forwarded = req.getHeader("X-Forwarded-For");
+                if (forwarded != null && !forwarded.isBlank()) {
+                    int comma = forwarded.indexOf(',');
+                    return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+                }
+            }
+            case USER -> {
+                String user = req.getHeader(properties.getUserHeader());
+                if (user != null && !user.isBlank()) {
+                    return "user:" + user;
+                }
+            }
+            default -> {
+            }
+        }
+        return req.getRemoteAddr();
+    }
+
+    private static Bucket newBucket(Policy policy) {
+        Bandwidth limit = Bandwidth.classic(policy.getCapacity(),
+                Refill.greedy(policy.getCapacity(), policy.getRefillPeriod()));
+        return Bucket.builder().addLimit(limit).build();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, Policy policy, String outcome) {
+        return Counter.builder("booking.ratelimit.requests")
+                .description("Requests evaluated by the rate limiter")
+                .tag("policy", policy.getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package com.booking.filter;
+
+import com.booking.config.DataSourceRoutingProperties;
+import com.booking.config.ReadWriteRoutingDataSource;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Binds the calling client (the configured header, else the remote address) for the
+ * duration of the request so {@link ReadWriteRoutingDataSource} can keep that client's
+ * reads on the primary right after it wrote.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+@ConditionalOnProperty(prefix = "booking.datasource.routing", name = "enabled", havingValue = "true")
+public class ReadYourWritesFilter implements Filter {
+    private final DataSourceRoutingProperties properties;
+
+    public ReadYourWritesFilter(DataSourceRoutingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!(request instanceof HttpServletRequest req)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String client = req.getHeader(properties.getClientHeader());
+        ReadWriteRoutingDataSource.bindClient(client == null || client.isBlank() ? req.getRemoteAddr() : client);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingDataSource.clearClient();
+        }
+    }
+}
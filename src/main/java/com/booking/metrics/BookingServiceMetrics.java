@@ -0,0 +1,87 @@
+package com.booking.metrics;
+
+import com.booking.exception.BookingNotFoundException;
+import com.booking.exception.DuplicateBookingException;
+import com.booking.exception.SlotHeldException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public {@code BookingService} call as {@code booking.service}, tagged with
+ * the operation and its outcome. Runs outside the transaction so commit time is
+ * included. Timers are cached per operation and outcome, and a call whose timer exists
+ * only does two map lookups; the join point itself is still allocated by Spring AOP.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class BookingServiceMetrics {
+    private final MeterRegistry meterRegistry;
+    /** Timers by operation, then outcome; both keys are interned strings, so no key is built per call. */
+    private final Map<String, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    public BookingServiceMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.booking.service.BookingService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String operation = joinPoint.getSignature().getName();
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            Object result = joinPoint.proceed();
+            outcome = successOutcome(operation);
+            return result;
+        } catch (DuplicateBookingException e) {
+            outcome = "duplicate";
+            throw e;
+        } catch (SlotHeldException e) {
+            outcome = "held";
+            throw e;
+        } catch (BookingNotFoundException e) {
+            outcome = "not-found";
+            throw e;
+        } catch (IllegalStateException e) {
+            outcome = "illegal-state";
+            throw e;
+        } finally {
+            timer(operation, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String successOutcome(String operation) {
+        return switch (operation) {
+            case "addBooking" -> "created";
+            case "cancelBooking" -> "cancelled";
+            default -> "success";
+        };
+    }
+
+    private Timer timer(String operation, String outcome) {
+        Map<String, Timer> byOutcome = timers.get(operation);
+        if (byOutcome == null) {
+            byOutcome = timers.computeIfAbsent(operation, key -> new ConcurrentHashMap<>());
+        }
+        Timer timer = byOutcome.get(outcome);
+        if (timer == null) {
+            // Capturing lambdas allocate, so they only run on the first call of a pair.
+            timer = byOutcome.computeIfAbsent(outcome, key -> Timer.builder("booking.service")
+                    .description("BookingService operations")
+                    .tag("operation", operation)
+                    .tag("outcome", key)
+                    .register(meterRegistry));
+        }
+        return timer;
+    }
+}
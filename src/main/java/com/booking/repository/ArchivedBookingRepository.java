@@ -0,0 +1,22 @@
+package com.booking.repository;
+
+import com.booking.entity.ArchivedBooking;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+    /** Copies the given rows from {@code bookings}; the caller deletes them in the same transaction. */
+    @Modifying
+    @Query(value = "INSERT INTO bookings_archive " +
+            "(id, user_id, resource_id, booking_date, status, created_at, updated_at, archived_at) " +
+            "SELECT id, user_id, resource_id, booking_date, status, created_at, updated_at, " +
+            "CAST(:archivedAt AS TIMESTAMP) FROM bookings WHERE id IN :ids", nativeQuery = true)
+    int copyFromBookings(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
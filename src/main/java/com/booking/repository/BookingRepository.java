@@ -1,26 +1,108 @@
 package com.booking.repository;
 
+import com.booking.dto.BookingResponse;
 import com.booking.entity.Booking;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    /** JDBC fetch size of the list reads, so large lists arrive in few round trips. */
+    String READ_FETCH_SIZE = "500";
+
     @Query("SELECT b FROM Booking b WHERE b.userId = :userId AND b.resourceId = :resourceId " +
             "AND b.bookingDate = :bookingDate AND b.status = 'ACTIVE'")
     Optional<Booking> findActiveBooking(@Param("userId") String userId,
                                         @Param("resourceId") String resourceId,
                                         @Param("bookingDate") LocalDateTime bookingDate);
 
+    /** Whether any user has an ACTIVE booking of the resource at that time. */
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.resourceId = :resourceId " +
+            "AND b.bookingDate = :bookingDate AND b.status = 'ACTIVE'")
+    boolean existsActiveOnSlot(@Param("resourceId") String resourceId,
+                               @Param("bookingDate") LocalDateTime bookingDate);
+
+    @Query("SELECT b.userId, b.resourceId, b.bookingDate FROM Booking b WHERE b.userId IN :userIds " +
+            "AND b.resourceId IN :resourceIds AND b.bookingDate IN :bookingDates")
+    List<Object[]> findSlotsIn(@Param("userIds") Collection<String> userIds,
+                               @Param("resourceIds") Collection<String> resourceIds,
+                               @Param("bookingDates") Collection<LocalDateTime> bookingDates);
+
     List<Booking> findByUserIdAndStatus(String userId, String status);
     List<Booking> findByResourceIdAndStatus(String resourceId, String status);
 
-    @Query("SELECT b FROM Booking b WHERE b.status = 'ACTIVE' ORDER BY b.bookingDate DESC")
-    List<Booking> findAllActiveBookings();
-}
\ No newline at end of file
+    /**
+     * Every ACTIVE booking, newest first, projected straight into {@link BookingResponse}:
+     * no managed entities, no dirty-check snapshots, and MANUAL (formerly NEVER) flush so
+     * the read never triggers one.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = READ_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("SELECT new com.booking.dto.BookingResponse(b.id, b.userId, b.resourceId, b.bookingDate, b.status, " +
+            "b.createdAt) FROM Booking b WHERE b.status = 'ACTIVE' ORDER BY b.bookingDate DESC")
+    List<BookingResponse> findAllActiveBookings();
+
+    /** A user's bookings in one status, newest first; a projection like {@link #findAllActiveBookings()}. */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = READ_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("SELECT new com.booking.dto.BookingResponse(b.id, b.userId, b.resourceId, b.bookingDate, b.status, " +
+            "b.createdAt) FROM Booking b WHERE b.userId = :userId AND b.status = :status " +
+            "ORDER BY b.bookingDate DESC")
+    List<BookingResponse> findResponsesByUserIdAndStatus(@Param("userId") String userId,
+                                                         @Param("status") String status);
+
+    @Query("SELECT b.userId, b.resourceId, b.bookingDate FROM Booking b WHERE b.status = 'ACTIVE'")
+    Stream<Object[]> streamActiveSlots();
+
+    @Query("SELECT new com.booking.dto.BookingResponse(b.id, b.userId, b.resourceId, b.bookingDate, b.status, " +
+            "b.createdAt) FROM Booking b WHERE b.id = :id")
+    Optional<BookingResponse> findResponseById(@Param("id") Long id);
+
+    /** Returns the number of rows cancelled: 0 when the booking is missing or no longer ACTIVE. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = 'CANCELLED', b.updatedAt = :now, b.version = b.version + 1 " +
+            "WHERE b.id = :id AND b.status = 'ACTIVE'")
+    int cancelIfActive(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = 'CANCELLED', b.updatedAt = :now, b.version = b.version + 1 " +
+            "WHERE b.id IN :ids AND b.status = 'ACTIVE'")
+    int cancelAllIfActive(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.userId = :userId AND b.status = 'ACTIVE'")
+    List<Booking> lockActiveByUserId(@Param("userId") String userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.resourceId = :resourceId AND b.status = 'ACTIVE'")
+    List<Booking> lockActiveByResourceId(@Param("resourceId") String resourceId);
+
+    /** Oldest-first batch of CANCELLED bookings for the archiver. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.status = 'CANCELLED' ORDER BY b.bookingDate")
+    List<Booking> lockCancelled(Pageable pageable);
+
+    /** Oldest-first batch of ACTIVE bookings dated before {@code cutoff} for the archiver. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.status = 'ACTIVE' AND b.bookingDate < :cutoff ORDER BY b.bookingDate")
+    List<Booking> lockActiveBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+}
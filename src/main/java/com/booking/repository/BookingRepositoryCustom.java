@@ -0,0 +1,17 @@
+package com.booking.repository;
+
+import com.booking.dto.BookingCursor;
+import com.booking.dto.BookingFilter;
+import com.booking.dto.BookingResponse;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingRepositoryCustom {
+    List<BookingResponse> findPage(BookingFilter filter, BookingCursor after, int limit);
+
+    Stream<BookingResponse> streamFiltered(BookingFilter filter, int fetchSize);
+
+    /** Same filter and keyset order as {@link #findPage}, over {@code bookings_archive}. */
+    List<BookingResponse> findArchivedPage(BookingFilter filter, BookingCursor after, int limit);
+}
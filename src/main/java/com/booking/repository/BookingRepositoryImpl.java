@@ -0,0 +1,87 @@
+package com.booking.repository;
+
+import com.booking.dto.BookingCursor;
+import com.booking.dto.BookingFilter;
+import com.booking.dto.BookingResponse;
+import com.booking.entity.ArchivedBooking;
+import com.booking.entity.Booking;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Filtered reads that project straight into {@link BookingResponse}, so neither the
+ * page nor the stream puts managed entities into the persistence context. Only the
+ * predicates that are actually set are added, keeping the generated SQL index-friendly.
+ */
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingResponse> findPage(BookingFilter filter, BookingCursor after, int limit) {
+        return entityManager.createQuery(select(Booking.class, filter, after))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<BookingResponse> streamFiltered(BookingFilter filter, int fetchSize) {
+        return entityManager.createQuery(select(Booking.class, filter, null))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public List<BookingResponse> findArchivedPage(BookingFilter filter, BookingCursor after, int limit) {
+        return entityManager.createQuery(select(ArchivedBooking.class, filter, after))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /** {@code entity} is {@link Booking} or {@link ArchivedBooking}; both map the same attribute names. */
+    private CriteriaQuery<BookingResponse> select(Class<?> entity, BookingFilter filter, BookingCursor after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingResponse> query = cb.createQuery(BookingResponse.class);
+        Root<?> b = query.from(entity);
+        Path<LocalDateTime> bookingDate = b.get("bookingDate");
+        Path<Long> id = b.get("id");
+        query.select(cb.construct(BookingResponse.class,
+                id, b.get("userId"), b.get("resourceId"), bookingDate, b.get("status"), b.get("createdAt")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(b.get("status"), filter.getStatus()));
+        }
+        if (filter.getUserId() != null) {
+            predicates.add(cb.equal(b.get("userId"), filter.getUserId()));
+        }
+        if (filter.getResourceId() != null) {
+            predicates.add(cb.equal(b.get("resourceId"), filter.getResourceId()));
+        }
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(bookingDate, filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThan(bookingDate, filter.getTo()));
+        }
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(bookingDate, after.bookingDate()),
+                    cb.and(cb.equal(bookingDate, after.bookingDate()), cb.greaterThan(id, after.id()))));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.desc(bookingDate), cb.asc(id));
+        return query;
+    }
+}
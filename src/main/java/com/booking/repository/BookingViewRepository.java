@@ -0,0 +1,13 @@
+package com.booking.repository;
+
+import com.booking.entity.BookingView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BookingViewRepository extends JpaRepository<BookingView, Long> {
+    List<BookingView> findByUserIdAndStatusOrderByBookingDateDesc(String userId, String status);
+    List<BookingView> findByResourceIdAndStatusOrderByBookingDateDesc(String resourceId, String status);
+}
@@ -0,0 +1,68 @@
+package com.booking.repository;
+
+import com.booking.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    /** Unsent, live events that no relay holds an unexpired claim on, oldest first. */
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.sentAt IS NULL AND e.attempts < :maxAttempts " +
+            "AND (e.claimedUntil IS NULL OR e.claimedUntil < :now) ORDER BY e.id")
+    List<Long> findClaimable(@Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now,
+                             Pageable pageable);
+
+    /**
+     * Claims those of {@code ids} that are still free for the batch {@code token}. The
+     * condition is re-checked under the row lock, so of two relays claiming the same rows
+     * only one gets each row.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimToken = :token, e.claimedUntil = :until WHERE e.id IN :ids " +
+            "AND e.sentAt IS NULL AND (e.claimedUntil IS NULL OR e.claimedUntil < :now)")
+    int claim(@Param("ids") Collection<Long> ids, @Param("token") String token,
+              @Param("until") LocalDateTime until, @Param("now") LocalDateTime now);
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.claimToken = :token AND e.sentAt IS NULL ORDER BY e.id")
+    List<OutboxEvent> findClaimed(@Param("token") String token);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.sentAt IS NULL AND e.attempts < :maxAttempts")
+    LocalDateTime findOldestLiveCreatedAt(@Param("maxAttempts") int maxAttempts);
+
+    long countBySentAtIsNull();
+
+    long countBySentAtIsNullAndAttemptsLessThan(int maxAttempts);
+
+    long countBySentAtIsNullAndAttemptsGreaterThanEqual(int maxAttempts);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.sentAt = :sentAt, e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.claimedUntil = NULL WHERE e.id IN :ids")
+    int markFailed(@Param("ids") Collection<Long> ids);
+
+    /** Hands events back to the next poll without counting an attempt. */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedUntil = NULL WHERE e.id IN :ids")
+    int release(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,220 @@
+package com.booking.service;
+
+import com.booking.config.ReadWriteRoutingDataSource;
+import com.booking.repository.BookingRepository;
+import com.booking.sharding.BookingShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of active (userId, resourceId, bookingDate) slots, stored as 64-bit
+ * fingerprints with a reference count so that colliding keys never evict each other.
+ * A miss is authoritative once the index has been loaded; a hit only means the
+ * database still has to be asked. The unique constraint on {@code bookings} remains
+ * the final guard.
+ */
+@Component
+public class ActiveSlotIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ActiveSlotIndex.class);
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    public enum Mode {
+        /** Always query the database; the index is maintained but never consulted. */
+        DISABLED,
+        /** Always query the database and count disagreements with the index. */
+        SHADOW,
+        /** Trust index misses and skip the database lookup. */
+        ENABLED
+    }
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingShards bookingShards;
+
+    private final Map<Long, Integer> slots = new ConcurrentHashMap<>();
+    private final AtomicLong falseMisses = new AtomicLong();
+    private final AtomicLong falseHits = new AtomicLong();
+    private volatile boolean loaded;
+    /** Keys missing from the table at the last verify and not booked since; removed at the next one. */
+    private volatile Set<Long> previouslyStale = ConcurrentHashMap.newKeySet();
+    private volatile Mode mode;
+
+    public ActiveSlotIndex(@Value("${booking.slot-index.mode:enabled}") Mode mode) {
+        this.mode = mode;
+    }
+
+    public boolean mightBeActive(String userId, String resourceId, LocalDateTime bookingDate) {
+        if (mode != Mode.ENABLED || !loaded) {
+            return true;
+        }
+        return slots.containsKey(fingerprint(userId, resourceId, bookingDate));
+    }
+
+    public void recordLookup(String userId, String resourceId, LocalDateTime bookingDate, boolean found) {
+        if (mode == Mode.DISABLED || !loaded) {
+            return;
+        }
+        boolean indexed = slots.containsKey(fingerprint(userId, resourceId, bookingDate));
+        if (found && !indexed) {
+            falseMisses.incrementAndGet();
+            logger.warn("Slot index missed active booking for user {} resource {} at {}",
+                    userId, resourceId, bookingDate);
+        } else if (!found && indexed) {
+            falseHits.incrementAndGet();
+        }
+    }
+
+    public void onBooked(String userId, String resourceId, LocalDateTime bookingDate) {
+        long key = fingerprint(userId, resourceId, bookingDate);
+        // Added eagerly so a concurrent create can't slip past the index before commit;
+        // an extra entry only costs a database lookup.
+        acquire(key);
+        // Booked again since the last verify, so absence from the table may just mean not committed yet.
+        previouslyStale.remove(key);
+        TransactionHooks.afterRollback(() -> release(key));
+    }
+
+    public void onCancelled(String userId, String resourceId, LocalDateTime bookingDate) {
+        long key = fingerprint(userId, resourceId, bookingDate);
+        TransactionHooks.afterCommit(() -> release(key));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        ReadWriteRoutingDataSource.pinPrimaryForTransaction();
+        long start = System.nanoTime();
+        bookingShards.forEachShard(true, shard -> {
+            try (Stream<Object[]> rows = bookingRepository.streamActiveSlots()) {
+                rows.forEach(row -> acquire(fingerprint(row)));
+            }
+        });
+        loaded = true;
+        logger.info("Slot index loaded {} active slots in {} ms",
+                slots.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Scheduled(initialDelayString = "${booking.slot-index.verify-interval:PT5M}",
+            fixedDelayString = "${booking.slot-index.verify-interval:PT5M}")
+    @Transactional(readOnly = true)
+    public void verify() {
+        if (!loaded || mode == Mode.DISABLED) {
+            return;
+        }
+        ReadWriteRoutingDataSource.pinPrimaryForTransaction();
+        Map<Long, Integer> expected = new HashMap<>();
+        bookingShards.forEachShard(true, shard -> {
+            try (Stream<Object[]> rows = bookingRepository.streamActiveSlots()) {
+                rows.forEach(row -> expected.merge(fingerprint(row), 1, Integer::sum));
+            }
+        });
+        int missing = 0;
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            Integer before = slots.get(entry.getKey());
+            if (before == null || before < entry.getValue()) {
+                slots.merge(entry.getKey(), entry.getValue(), Math::max);
+                missing++;
+            }
+        }
+        // A key absent from the table may belong to a create that hasn't committed yet, so it is
+        // only dropped once it has been absent for two passes without being booked in between.
+        // That assumes no create stays uncommitted for a whole verify-interval.
+        Set<Long> stale = ConcurrentHashMap.newKeySet();
+        int removed = 0;
+        for (Long key : slots.keySet()) {
+            if (!expected.containsKey(key)) {
+                stale.add(key);
+                if (previouslyStale.contains(key) && slots.remove(key) != null) {
+                    removed++;
+                }
+            }
+        }
+        stale.removeAll(previouslyStale);
+        previouslyStale = stale;
+        if (missing > 0 || removed > 0) {
+            logger.warn("Slot index repaired {} missing and removed {} stale active slots", missing, removed);
+        }
+        logger.debug("Slot index verified: {} active slots, {} missing, {} removed, {} not in table",
+                expected.size(), missing, removed, stale.size());
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    public long getFalseMisses() {
+        return falseMisses.get();
+    }
+
+    public long getFalseHits() {
+        return falseHits.get();
+    }
+
+    private void acquire(long key) {
+        slots.merge(key, 1, Integer::sum);
+    }
+
+    private void release(long key) {
+        slots.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private static long fingerprint(Object[] row) {
+        return fingerprint((String) row[0], (String) row[1], (LocalDateTime) row[2]);
+    }
+
+    static long fingerprint(String userId, String resourceId, LocalDateTime bookingDate) {
+        long hash = FNV_OFFSET;
+        hash = mix(hash, userId);
+        hash = mix(hash, resourceId);
+        hash = mix(hash, bookingDate.toEpochSecond(ZoneOffset.UTC));
+        hash = mix(hash, bookingDate.getNano());
+        return hash;
+    }
+
+    private static long mix(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        // Field separator so ("ab", "c") and ("a", "bc") don't collide.
+        return (hash ^ 0xff) * FNV_PRIME;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash = (hash ^ (value & 0xff)) * FNV_PRIME;
+            value >>>= 8;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,153 @@
+package com.booking.service;
+
+import com.booking.entity.Booking;
+import com.booking.repository.ArchivedBookingRepository;
+import com.booking.repository.BookingRepository;
+import com.booking.sharding.BookingShards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves CANCELLED bookings and ACTIVE bookings whose date has passed from
+ * {@code bookings} to {@code bookings_archive}, so the hot table only holds live
+ * bookings. Each batch is copied and deleted in its own short transaction that
+ * locks only the rows it moves, and the archiver pauses between batches and caps
+ * the batches per run so live writes never queue behind it.
+ */
+@Component
+public class BookingArchiver {
+    private static final Logger logger = LoggerFactory.getLogger(BookingArchiver.class);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+    @Autowired
+    private ActiveSlotIndex activeSlotIndex;
+    @Autowired
+    private ResourceAvailability resourceAvailability;
+    @Autowired
+    private UserBookingsCache userBookingsCache;
+    @Autowired
+    private BookingVersions bookingVersions;
+    @Autowired
+    private BookingShards bookingShards;
+
+    @Value("${booking.archive.enabled:true}")
+    private boolean enabled;
+    @Value("${booking.archive.batch-size:500}")
+    private int batchSize;
+    @Value("${booking.archive.batch-pause:PT0.1S}")
+    private Duration batchPause;
+    @Value("${booking.archive.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+    @Value("${booking.archive.past-grace:P1D}")
+    private Duration pastGrace;
+
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archivedCancelled;
+    private final Counter archivedPast;
+    private final Timer batchTimer;
+
+    public BookingArchiver(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archivedCancelled = archivedCounter(meterRegistry, "cancelled");
+        this.archivedPast = archivedCounter(meterRegistry, "past");
+        this.batchTimer = Timer.builder("booking.archive.batch")
+                .description("Time to copy and delete one archive batch")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${booking.archive.interval:PT5M}",
+            fixedDelayString = "${booking.archive.interval:PT5M}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(pastGrace);
+        for (int shard = 0; shard < bookingShards.count(); shard++) {
+            bookingShards.onShard(shard, () -> archiveShard(cutoff));
+        }
+    }
+
+    /** Returns the number of bookings moved; exposed for tests and manual runs. */
+    int archiveShard(LocalDateTime cutoff) {
+        int moved = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer count = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            moved += count;
+            if (count < batchSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        if (moved > 0) {
+            logger.info("Archived {} bookings", moved);
+        }
+        return moved;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        Timer.Sample sample = Timer.start();
+        List<Booking> cancelled = bookingRepository.lockCancelled(PageRequest.of(0, batchSize));
+        List<Booking> past = cancelled.size() < batchSize
+                ? bookingRepository.lockActiveBefore(cutoff, PageRequest.of(0, batchSize - cancelled.size()))
+                : List.of();
+        if (cancelled.isEmpty() && past.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(cancelled.size() + past.size());
+        cancelled.forEach(booking -> ids.add(booking.getId()));
+        past.forEach(booking -> ids.add(booking.getId()));
+
+        archivedBookingRepository.copyFromBookings(ids, LocalDateTime.now());
+        bookingRepository.deleteAllByIdInBatch(ids);
+        for (Booking booking : past) {
+            // A past ACTIVE booking leaves the hot table, so its slot is released like a cancellation.
+            activeSlotIndex.onCancelled(booking.getUserId(), booking.getResourceId(), booking.getBookingDate());
+            resourceAvailability.onCancelled(booking.getUserId(), booking.getResourceId(), booking.getBookingDate());
+            userBookingsCache.invalidateAfterCommit(booking.getUserId());
+            bookingVersions.bumpAfterCommit(booking.getUserId());
+        }
+        TransactionHooks.afterCommit(() -> {
+            archivedCancelled.increment(cancelled.size());
+            archivedPast.increment(past.size());
+        });
+        sample.stop(batchTimer);
+        return ids.size();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Counter archivedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("booking.archive.moved")
+                .tag("reason", reason)
+                .description("Bookings moved from bookings to bookings_archive")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,48 @@
+package com.booking.service;
+
+import com.booking.dto.BookingResponse;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Every node joins its own consumer group so it sees all booking events and can drop
+ * cache entries, bump list versions and update resource availability for writes made
+ * elsewhere in the cluster. Its own writes come back too; availability ignores repeats.
+ */
+@Component
+public class BookingCacheInvalidationListener {
+    public static final String LISTENER_ID = "booking-cache-invalidation";
+
+    @Autowired
+    private UserBookingsCache userBookingsCache;
+    @Autowired
+    private BookingVersions bookingVersions;
+    @Autowired
+    private ResourceAvailability resourceAvailability;
+
+    @KafkaListener(id = LISTENER_ID, topics = "booking-events",
+            groupId = "booking-cache-#{T(java.util.UUID).randomUUID().toString()}",
+            batch = "true",
+            autoStartup = "#{${booking.cache.user-bookings.remote-invalidation:true} and "
+                    + "${spring.kafka.listener.auto-startup:true} and !${booking.startup.defer-kafka:false}}",
+            properties = "auto.offset.reset=latest")
+    public void onBookingEvents(List<ConsumerRecord<String, BookingResponse>> records, Acknowledgment ack) {
+        for (ConsumerRecord<String, BookingResponse> record : records) {
+            BookingResponse event = record.value();
+            if (event != null && event.getUserId() != null) {
+                userBookingsCache.invalidate(event.getUserId(), record.timestamp());
+                bookingVersions.bump(event.getUserId());
+                if (event.getResourceId() != null && event.getBookingDate() != null) {
+                    resourceAvailability.apply(new ResourceAvailability.Change(event.getUserId(),
+                            event.getResourceId(), event.getBookingDate(), "ACTIVE".equals(event.getStatus())));
+                }
+            }
+        }
+        ack.acknowledge();
+    }
+}
@@ -1,25 +1,183 @@
 package com.booking.service;
 
 import com.booking.dto.BookingResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.serializer.SerializationUtils;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies booking events to the read model. Each poll is split into lanes by record
+ * key, so every key's events stay in offset order within one lane while different
+ * keys apply concurrently, one batched write per lane. Offsets are only committed
+ * up to the first record of a failed lane; everything from there is redelivered.
+ */
 @Service
 public class BookingEventConsumer {
+    public static final String LISTENER_ID = "booking-event-consumer";
+
     private static final Logger logger = LoggerFactory.getLogger(BookingEventConsumer.class);
 
-    @KafkaListener(topics = "booking-events", groupId = "booking-group")
-    public void handleBookingEvent(BookingResponse bookingResponse) {
-        logger.info("Received booking event: {}", bookingResponse);
-        switch (bookingResponse.getStatus()) {
-            case "ACTIVE":
-                logger.info("Processing new booking: {}", bookingResponse.getId());
-                break;
-            case "CANCELLED":
-                logger.info("Processing cancelled booking: {}", bookingResponse.getId());
-                break;
+    @Autowired
+    private BookingReadModelWriter readModelWriter;
+
+    private final int keyParallelism;
+    private final Duration retryBackoff;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Timer applyTimer;
+    private final DistributionSummary batchSize;
+    private final Counter failedLanes;
+
+    public BookingEventConsumer(MeterRegistry meterRegistry,
+                                @Value("${booking.consumer.key-parallelism:4}") int keyParallelism,
+                                @Value("${booking.consumer.retry-backoff:PT1S}") Duration retryBackoff) {
+        this.keyParallelism = Math.max(1, keyParallelism);
+        this.retryBackoff = retryBackoff;
+        this.applyTimer = Timer.builder("booking.consumer.batch.apply")
+                .description("Time to apply one batch of booking events to the read model")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("booking.consumer.batch.size")
+                .description("Booking events per consumed batch")
+                .register(meterRegistry);
+        this.failedLanes = Counter.builder("booking.consumer.lane.failed")
+                .description("Key lanes whose events failed to apply and were redelivered")
+                .register(meterRegistry);
+        Gauge.builder("booking.consumer.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest record in the last applied batch")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(id = LISTENER_ID, topics = "booking-events", groupId = "booking-group", batch = "true",
+            concurrency = "${booking.consumer.concurrency:3}",
+            // An explicit autoStartup overrides spring.kafka.listener.auto-startup, so it is folded in here.
+            autoStartup = "#{${spring.kafka.listener.auto-startup:true} and !${booking.startup.defer-kafka:false}}")
+    public void handleBookingEvents(List<ConsumerRecord<String, BookingResponse>> records, Acknowledgment ack) {
+        List<Lane> lanes = new ArrayList<>(keyParallelism);
+        for (int i = 0; i < keyParallelism; i++) {
+            lanes.add(new Lane());
+        }
+        long oldestTimestamp = Long.MAX_VALUE;
+        for (int index = 0; index < records.size(); index++) {
+            ConsumerRecord<String, BookingResponse> record = records.get(index);
+            BookingResponse event = record.value();
+            if (event == null) {
+                if (record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null) {
+                    // Skipped, not retried: redelivery can't make an unknown schema version readable.
+                    logger.error("Skipping unreadable booking event at {}-{}@{}",
+                            record.topic(), record.partition(), record.offset());
+                    continue;
+                }
+                logger.warn("Skipping empty booking event at {}-{}@{}", record.topic(), record.partition(), record.offset());
+                continue;
+            }
+            logger.debug("Received booking event {} for booking {}", eventType(record), event.getId());
+            String key = record.key();
+            lanes.get(key == null ? 0 : Math.floorMod(key.hashCode(), keyParallelism)).add(index, event);
+            oldestTimestamp = Math.min(oldestTimestamp, record.timestamp());
+        }
+
+        Timer.Sample sample = Timer.start();
+        int firstFailed = apply(lanes);
+        sample.stop(applyTimer);
+        batchSize.record(records.size());
+        if (oldestTimestamp != Long.MAX_VALUE) {
+            lagMillis.set(Math.max(0, System.currentTimeMillis() - oldestTimestamp));
+        }
+        if (firstFailed < 0) {
+            ack.acknowledge();
+            return;
+        }
+        // Every record before the first record of a failed lane has been applied, so that
+        // prefix is contiguous and safe to commit. Replays are idempotent for the rest.
+        ack.nack(firstFailed, retryBackoff);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /** Applies every lane and returns the lowest record index of a failed lane, or -1. */
+    private int apply(List<Lane> lanes) {
+        List<Lane> busy = lanes.stream().filter(lane -> !lane.events.isEmpty()).toList();
+        if (busy.size() == 1) {
+            return applyLane(busy.get(0));
+        }
+        List<Future<Integer>> results = new ArrayList<>(busy.size());
+        for (Lane lane : busy) {
+            results.add(executor.submit(() -> applyLane(lane)));
+        }
+        int firstFailed = -1;
+        // Wait for every lane, even after a failure, so none is still writing when the batch is redelivered.
+        for (Future<Integer> result : results) {
+            int failed;
+            try {
+                failed = result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while applying booking events", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Booking event lane failed", e.getCause());
+            }
+            if (failed >= 0 && (firstFailed < 0 || failed < firstFailed)) {
+                firstFailed = failed;
+            }
+        }
+        return firstFailed;
+    }
+
+    private int applyLane(Lane lane) {
+        try {
+            int applied = readModelWriter.apply(lane.events);
+            logger.debug("Applied {} booking events ({} distinct bookings)", lane.events.size(), applied);
+            return -1;
+        } catch (RuntimeException e) {
+            failedLanes.increment();
+            logger.warn("Failed to apply {} booking events; redelivering from record {}",
+                    lane.events.size(), lane.firstIndex, e);
+            return lane.firstIndex;
+        }
+    }
+
+    private static String eventType(ConsumerRecord<String, BookingResponse> record) {
+        Header header = record.headers().lastHeader(BookingEventPublisher.EVENT_TYPE_HEADER);
+        return header == null ? record.key() : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    /** One key lane of a batch; {@code firstIndex} is the batch position of its first record. */
+    private static final class Lane {
+        private final List<BookingResponse> events = new ArrayList<>();
+        private int firstIndex = -1;
+
+        void add(int index, BookingResponse event) {
+            if (firstIndex < 0) {
+                firstIndex = index;
+            }
+            events.add(event);
         }
     }
-}
\ No newline at end of file
+}
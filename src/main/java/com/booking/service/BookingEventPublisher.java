@@ -0,0 +1,40 @@
+package com.booking.service;
+
+import com.booking.dto.BookingResponse;
+import com.booking.entity.OutboxEvent;
+import com.booking.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records booking events in the outbox table inside the caller's transaction.
+ * {@link OutboxRelay} publishes them to Kafka once the transaction has committed.
+ * Events are keyed by resource, so every change to a slot lands on one partition, in
+ * outbox id order, at-least-once, and possibly reordered on retry: ids come from a pooled
+ * sequence rather than the commit, several nodes relay at once, and failed sends are
+ * retried later. The event type travels in the {@value #EVENT_TYPE_HEADER} header.
+ */
+@Service
+public class BookingEventPublisher {
+    public static final String BOOKING_TOPIC = "booking-events";
+    public static final String EVENT_TYPE_HEADER = "booking-event-type";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String eventType, BookingResponse event) {
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+            outboxEventRepository.save(new OutboxEvent(BOOKING_TOPIC, event.getResourceId(), eventType, payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize booking event " + eventType, e);
+        }
+    }
+}
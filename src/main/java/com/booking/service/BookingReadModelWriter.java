@@ -0,0 +1,65 @@
+package com.booking.service;
+
+import com.booking.dto.BookingResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies booking events to {@code booking_views} with one batched MERGE per poll.
+ * CANCELLED is terminal, so a late or redelivered created event never revives a
+ * cancelled booking and replays are idempotent.
+ */
+@Component
+public class BookingReadModelWriter {
+    private static final String UPSERT_SQL =
+            "MERGE INTO booking_views v " +
+            "USING (SELECT CAST(? AS BIGINT) AS id, CAST(? AS VARCHAR(255)) AS user_id, " +
+            "CAST(? AS VARCHAR(255)) AS resource_id, CAST(? AS TIMESTAMP) AS booking_date, " +
+            "CAST(? AS VARCHAR(255)) AS status, CAST(? AS TIMESTAMP) AS created_at) s " +
+            "ON v.id = s.id " +
+            "WHEN MATCHED THEN UPDATE SET " +
+            "status = CASE WHEN v.status = 'CANCELLED' THEN v.status ELSE s.status END, " +
+            "updated_at = CURRENT_TIMESTAMP " +
+            "WHEN NOT MATCHED THEN INSERT (id, user_id, resource_id, booking_date, status, created_at, updated_at) " +
+            "VALUES (s.id, s.user_id, s.resource_id, s.booking_date, s.status, s.created_at, CURRENT_TIMESTAMP)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public int apply(Collection<BookingResponse> events) {
+        Map<Long, BookingResponse> latest = new LinkedHashMap<>();
+        for (BookingResponse event : events) {
+            if (event == null || event.getId() == null) {
+                continue;
+            }
+            latest.merge(event.getId(), event,
+                    (previous, next) -> "CANCELLED".equals(previous.getStatus()) ? previous : next);
+        }
+        if (latest.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> rows = new ArrayList<>(latest.size());
+        for (BookingResponse event : latest.values()) {
+            rows.add(new Object[]{
+                    event.getId(),
+                    event.getUserId(),
+                    event.getResourceId(),
+                    Timestamp.valueOf(event.getBookingDate()),
+                    event.getStatus(),
+                    event.getCreatedAt() == null ? null : Timestamp.valueOf(event.getCreatedAt())
+            });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        return rows.size();
+    }
+}
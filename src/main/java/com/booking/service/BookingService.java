@@ -1,41 +1,156 @@
 package com.booking.service;
 
+import com.booking.config.ReadWriteRoutingDataSource;
+import com.booking.dto.BookingBatchItemResult;
+import com.booking.dto.BookingBatchResult;
+import com.booking.dto.BookingCursor;
+import com.booking.dto.BookingFilter;
+import com.booking.dto.BookingPage;
 import com.booking.dto.BookingRequest;
 import com.booking.dto.BookingResponse;
 import com.booking.entity.Booking;
+import com.booking.exception.BatchTooLargeException;
 import com.booking.exception.DuplicateBookingException;
 import com.booking.exception.BookingNotFoundException;
+import com.booking.exception.InvalidBookingStateException;
 import com.booking.repository.BookingRepository;
+import com.booking.sharding.BookingShards;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class BookingService {
+    private static final Logger logger = LoggerFactory.getLogger(BookingService.class);
+
     @Autowired
     private BookingRepository bookingRepository;
     @Autowired
-    private KafkaTemplate<String, Object> kafkaTemplate;
-    private static final String BOOKING_TOPIC = "booking-events";
+    private BookingEventPublisher bookingEventPublisher;
+    @Autowired
+    private ActiveSlotIndex activeSlotIndex;
+    @Autowired
+    private ResourceAvailability resourceAvailability;
+    @Autowired
+    private SlotHoldService slotHoldService;
+    @Autowired
+    private UserBookingsCache userBookingsCache;
+    @Autowired
+    private BookingVersions bookingVersions;
+    @Autowired
+    private BookingShards bookingShards;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final int SLOT_LOOKUP_CHUNK = 500;
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+    private static final Comparator<BookingResponse> NEWEST_FIRST =
+            Comparator.comparing(BookingResponse::getBookingDate).reversed();
+    private static final Comparator<BookingResponse> PAGE_ORDER =
+            NEWEST_FIRST.thenComparing(BookingResponse::getId);
+    @Autowired
+    private Validator validator;
+    @Value("${booking.batch.max-size:5000}")
+    private int maxBatchSize;
+    @Value("${booking.create.coalesce-wait:PT5S}")
+    private Duration createCoalesceWait;
+    /** Creates in progress, by slot; completed with whether the slot ended up taken. */
+    private final Map<SlotKey, CompletableFuture<Boolean>> createFlights = new ConcurrentHashMap<>();
 
+    /**
+     * Creates a booking. Concurrent creates of the same slot are coalesced: the first caller
+     * goes to the database and the others wait for its outcome, so a slot taken by the leader
+     * answers its followers with {@link DuplicateBookingException} without a query. A leader
+     * that fails for any other reason lets the next caller try. Followers only see the outcome
+     * once it is committed, so they never report a slot whose creation rolled back.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public BookingResponse addBooking(BookingRequest request) {
-        Optional<Booking> existingBooking = bookingRepository.findActiveBooking(
-                request.getUserId(),
-                request.getResourceId(),
-                request.getBookingDate()
-        );
-        if (existingBooking.isPresent()) {
-            throw new DuplicateBookingException(
-                    "Booking already exists for user " + request.getUserId() +
-                            " and resource " + request.getResourceId() +
-                            " at " + request.getBookingDate()
+        slotHoldService.checkNotHeldByOther(request.getUserId(), request.getResourceId(), request.getBookingDate());
+        SlotKey key = SlotKey.of(request);
+        CompletableFuture<Boolean> flight = new CompletableFuture<>();
+        for (CompletableFuture<Boolean> leader; (leader = createFlights.putIfAbsent(key, flight)) != null; ) {
+            Boolean taken = awaitFlight(leader);
+            if (taken == null) {
+                // The leader is stuck; don't queue behind it, let the database decide.
+                return createBooking(request);
+            }
+            if (taken) {
+                throw duplicate(key);
+            }
+        }
+        try {
+            BookingResponse response = createBooking(request);
+            TransactionHooks.afterCommit(() -> land(key, flight, true));
+            TransactionHooks.afterRollback(() -> land(key, flight, false));
+            return response;
+        } catch (DuplicateBookingException e) {
+            land(key, flight, true);
+            throw e;
+        } catch (RuntimeException e) {
+            land(key, flight, false);
+            throw e;
+        }
+    }
+
+    private BookingResponse createBooking(BookingRequest request) {
+        try {
+            return new TransactionTemplate(transactionManager).execute(status -> insertBooking(request));
+        } catch (DataIntegrityViolationException e) {
+            // A racing insert from another instance, or a cancelled row still holding the unique slot.
+            if (DuplicateBookingException.isSlotConflict(e)) {
+                throw duplicate(SlotKey.of(request));
+            }
+            throw e;
+        }
+    }
+
+    private BookingResponse insertBooking(BookingRequest request) {
+        bookingShards.bindForTransaction(bookingShards.forResource(request.getResourceId()));
+        if (activeSlotIndex.mightBeActive(request.getUserId(), request.getResourceId(), request.getBookingDate())) {
+            Optional<Booking> existingBooking = bookingRepository.findActiveBooking(
+                    request.getUserId(),
+                    request.getResourceId(),
+                    request.getBookingDate()
             );
+            activeSlotIndex.recordLookup(request.getUserId(), request.getResourceId(),
+                    request.getBookingDate(), existingBooking.isPresent());
+            if (existingBooking.isPresent()) {
+                throw duplicate(SlotKey.of(request));
+            }
         }
         Booking booking = new Booking(
                 request.getUserId(),
@@ -44,41 +159,350 @@ public class BookingService {
                 "ACTIVE"
         );
         Booking savedBooking = bookingRepository.save(booking);
+        activeSlotIndex.onBooked(savedBooking.getUserId(), savedBooking.getResourceId(), savedBooking.getBookingDate());
+        resourceAvailability.onBooked(savedBooking.getUserId(), savedBooking.getResourceId(),
+                savedBooking.getBookingDate());
+        userBookingsCache.invalidateAfterCommit(savedBooking.getUserId());
+        bookingVersions.bumpAfterCommit(savedBooking.getUserId());
         BookingResponse response = convertToResponse(savedBooking);
         response.setMessage("Booking created successfully");
-        kafkaTemplate.send(BOOKING_TOPIC, "booking.created", response);
+        bookingEventPublisher.publish("booking.created", response);
         return response;
     }
 
+    /**
+     * Creates up to {@code booking.batch.max-size} bookings with a result per item. Slots are
+     * probed up front; if a concurrent create takes one between the probe and the insert, the
+     * shard's transaction rolls back and is retried, and the next probe reports that item as
+     * {@code DUPLICATE}.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BookingBatchResult addBookings(List<BookingRequest> requests) {
+        if (requests.size() > maxBatchSize) {
+            throw new BatchTooLargeException("Batch of " + requests.size() +
+                    " bookings exceeds the limit of " + maxBatchSize);
+        }
+        BookingBatchItemResult[] results = new BookingBatchItemResult[requests.size()];
+        Map<SlotKey, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BookingRequest request = requests.get(i);
+            String violation = validate(request);
+            if (violation != null) {
+                results[i] = new BookingBatchItemResult(i, BookingBatchItemResult.INVALID, null, violation);
+                continue;
+            }
+            if (slotHoldService.isHeldByOther(request.getUserId(), request.getResourceId(),
+                    request.getBookingDate())) {
+                results[i] = new BookingBatchItemResult(i, BookingBatchItemResult.HELD, null,
+                        "Resource " + request.getResourceId() + " at " + request.getBookingDate() +
+                                " is held by another client");
+                continue;
+            }
+            Integer first = candidates.putIfAbsent(SlotKey.of(request), i);
+            if (first != null) {
+                results[i] = new BookingBatchItemResult(i, BookingBatchItemResult.DUPLICATE, null,
+                        "Duplicate of batch item " + first);
+            }
+        }
+
+        // Slots include the resource, so duplicates never cross shards. Each shard commits on
+        // its own: with several shards a failure only rolls back that shard's part of the batch.
+        Map<Integer, Map<SlotKey, Integer>> byShard = new LinkedHashMap<>();
+        for (Map.Entry<SlotKey, Integer> candidate : candidates.entrySet()) {
+            byShard.computeIfAbsent(bookingShards.forResource(candidate.getKey().resourceId()),
+                    shard -> new LinkedHashMap<>()).put(candidate.getKey(), candidate.getValue());
+        }
+        for (Map.Entry<Integer, Map<SlotKey, Integer>> shard : byShard.entrySet()) {
+            List<BookingBatchItemResult> shardResults;
+            try {
+                shardResults = insertShard(shard.getKey(), shard.getValue());
+            } catch (RuntimeException e) {
+                if (!bookingShards.isSharded()) {
+                    // One transaction holds the whole batch, so nothing was stored and the error says so.
+                    throw e;
+                }
+                // Earlier shards have committed; report this shard's items instead of failing the batch.
+                logger.warn("Batch insert of {} bookings failed on shard {}", shard.getValue().size(),
+                        shard.getKey(), e);
+                shardResults = failed(shard.getValue().values(), shard.getKey());
+            }
+            // Only copied once the shard's transaction has committed.
+            for (BookingBatchItemResult result : shardResults) {
+                results[result.getIndex()] = result;
+            }
+        }
+        return new BookingBatchResult(Arrays.asList(results));
+    }
+
+    private List<BookingBatchItemResult> insertShard(int shard, Map<SlotKey, Integer> candidates) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (bookingShards.isSharded()) {
+                    return bookingShards.inTransaction(shard, false, () -> insertCandidates(candidates));
+                }
+                return new TransactionTemplate(transactionManager).execute(status -> insertCandidates(candidates));
+            } catch (DataIntegrityViolationException e) {
+                // Each retry finds at least the slot that was lost, so conflicts can't go on for long.
+                if (!DuplicateBookingException.isSlotConflict(e) || attempt == MAX_BATCH_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private List<BookingBatchItemResult> insertCandidates(Map<SlotKey, Integer> candidates) {
+        List<BookingBatchItemResult> results = new ArrayList<>(candidates.size());
+        Set<SlotKey> existing = findExistingSlots(candidates.keySet());
+        List<Booking> pending = new ArrayList<>();
+        List<Integer> pendingIndexes = new ArrayList<>();
+        for (Map.Entry<SlotKey, Integer> candidate : candidates.entrySet()) {
+            SlotKey key = candidate.getKey();
+            if (existing.contains(key)) {
+                results.add(new BookingBatchItemResult(candidate.getValue(),
+                        BookingBatchItemResult.DUPLICATE, null,
+                        "Booking already exists for user " + key.userId() +
+                                " and resource " + key.resourceId() +
+                                " at " + key.bookingDate()));
+                continue;
+            }
+            pending.add(new Booking(key.userId(), key.resourceId(), key.bookingDate(), "ACTIVE"));
+            pendingIndexes.add(candidate.getValue());
+        }
+
+        List<Booking> saved = bookingRepository.saveAll(pending);
+        bookingRepository.flush();
+        for (int i = 0; i < saved.size(); i++) {
+            Booking booking = saved.get(i);
+            activeSlotIndex.onBooked(booking.getUserId(), booking.getResourceId(), booking.getBookingDate());
+            resourceAvailability.onBooked(booking.getUserId(), booking.getResourceId(), booking.getBookingDate());
+            userBookingsCache.invalidateAfterCommit(booking.getUserId());
+            bookingVersions.bumpAfterCommit(booking.getUserId());
+            BookingResponse response = convertToResponse(booking);
+            response.setMessage("Booking created successfully");
+            bookingEventPublisher.publish("booking.created", response);
+            results.add(new BookingBatchItemResult(pendingIndexes.get(i), BookingBatchItemResult.CREATED,
+                    response, null));
+        }
+        return results;
+    }
+
+    private static List<BookingBatchItemResult> failed(Collection<Integer> indexes, int shard) {
+        List<BookingBatchItemResult> results = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            results.add(new BookingBatchItemResult(index, BookingBatchItemResult.FAILED, null,
+                    "Booking was not stored: shard " + shard + " failed; retry the item"));
+        }
+        return results;
+    }
+
+    /** Whether any user has an ACTIVE booking of the slot; asks the primary of the resource's shard. */
+    public boolean isSlotBooked(String resourceId, LocalDateTime bookingDate) {
+        bookingShards.bindForTransaction(bookingShards.forResource(resourceId));
+        return bookingRepository.existsActiveOnSlot(resourceId, bookingDate);
+    }
+
     public BookingResponse cancelBooking(Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        if (!bookingShards.hasShardFor(bookingId)) {
+            throw new BookingNotFoundException("Booking not found with id: " + bookingId);
+        }
+        bookingShards.bindForTransaction(bookingShards.forBooking(bookingId));
+        // The conditional update decides the race; the read-back only supplies the event payload
+        // and, when nothing was updated, tells a missing booking from one that isn't ACTIVE.
+        int updated = bookingRepository.cancelIfActive(bookingId, LocalDateTime.now());
+        BookingResponse response = bookingRepository.findResponseById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException("Booking not found with id: " + bookingId));
-        if (!"ACTIVE".equals(booking.getStatus())) {
-            throw new IllegalStateException("Cannot cancel booking with status: " + booking.getStatus());
+        if (updated == 0) {
+            throw new InvalidBookingStateException("Cannot cancel booking with status: " + response.getStatus());
         }
-        booking.setStatus("CANCELLED");
-        Booking savedBooking = bookingRepository.save(booking);
-        BookingResponse response = convertToResponse(savedBooking);
         response.setMessage("Booking cancelled successfully");
-        kafkaTemplate.send(BOOKING_TOPIC, "booking.cancelled", response);
+        onCancelled(response);
         return response;
     }
 
+    public List<BookingResponse> cancelUserBookings(String userId) {
+        return concat(bookingShards.onEachShard(false,
+                shard -> cancelAll(bookingRepository.lockActiveByUserId(userId))));
+    }
+
+    public List<BookingResponse> cancelResourceBookings(String resourceId) {
+        bookingShards.bindForTransaction(bookingShards.forResource(resourceId));
+        return cancelAll(bookingRepository.lockActiveByResourceId(resourceId));
+    }
+
+    @Transactional(readOnly = true)
     public List<BookingResponse> getAllActiveBookings() {
-        return bookingRepository.findAllActiveBookings()
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return merge(bookingShards.onEachShard(true, shard -> bookingRepository.findAllActiveBookings()),
+                NEWEST_FIRST);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<BookingResponse> getUserBookings(String userId) {
-        return bookingRepository.findByUserIdAndStatus(userId, "ACTIVE")
-                .stream()
-                .map(this::convertToResponse)
+        return userBookingsCache.get(userId, this::loadUserBookings);
+    }
+
+    private List<BookingResponse> loadUserBookings(String userId) {
+        // Cached for the whole TTL, so it must not be filled from a replica that hasn't seen a write yet.
+        ReadWriteRoutingDataSource.pinPrimaryForTransaction();
+        return merge(bookingShards.onEachShard(true,
+                shard -> bookingRepository.findResponsesByUserIdAndStatus(userId, "ACTIVE")), NEWEST_FIRST);
+    }
+
+    @Transactional(readOnly = true)
+    public BookingPage getBookingPage(BookingFilter filter, String cursor, int limit) {
+        return page(filter, cursor, limit, bookingRepository::findPage);
+    }
+
+    /** Bookings moved to {@code bookings_archive}, with the same cursor format and order as live pages. */
+    @Transactional(readOnly = true)
+    public BookingPage getArchivedPage(BookingFilter filter, String cursor, int limit) {
+        return page(filter, cursor, limit, bookingRepository::findArchivedPage);
+    }
+
+    private BookingPage page(BookingFilter filter, String cursor, int limit, PageQuery query) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        BookingCursor after = cursor == null || cursor.isBlank() ? null : BookingCursor.decode(cursor);
+        List<BookingResponse> rows;
+        if (filter.getResourceId() != null) {
+            bookingShards.bindForTransaction(bookingShards.forResource(filter.getResourceId()));
+            rows = query.find(filter, after, pageSize + 1);
+        } else {
+            // Every shard's first pageSize + 1 rows after the cursor contain the global ones.
+            rows = merge(bookingShards.onEachShard(true,
+                    shard -> query.find(filter, after, pageSize + 1)), PAGE_ORDER);
+        }
+        if (rows.size() <= pageSize) {
+            return new BookingPage(rows, null);
+        }
+        List<BookingResponse> items = rows.subList(0, pageSize);
+        return new BookingPage(items, BookingCursor.after(items.get(pageSize - 1)).encode());
+    }
+
+    @Transactional(readOnly = true)
+    public void streamBookings(BookingFilter filter, Consumer<BookingResponse> sink) {
+        if (filter.getResourceId() != null) {
+            bookingShards.bindForTransaction(bookingShards.forResource(filter.getResourceId()));
+            streamShard(filter, sink);
+            return;
+        }
+        // Shards are streamed one after another, so order only holds within each shard.
+        bookingShards.forEachShard(true, shard -> streamShard(filter, sink));
+    }
+
+    private void streamShard(BookingFilter filter, Consumer<BookingResponse> sink) {
+        try (Stream<BookingResponse> rows = bookingRepository.streamFiltered(filter, STREAM_FETCH_SIZE)) {
+            rows.forEach(sink);
+        }
+    }
+
+    private static List<BookingResponse> concat(List<List<BookingResponse>> perShard) {
+        if (perShard.size() == 1) {
+            return perShard.get(0);
+        }
+        List<BookingResponse> all = new ArrayList<>();
+        perShard.forEach(all::addAll);
+        return all;
+    }
+
+    /** Each shard's rows are already in {@code order}; only results from several shards need sorting. */
+    private static List<BookingResponse> merge(List<List<BookingResponse>> perShard,
+                                               Comparator<BookingResponse> order) {
+        List<BookingResponse> all = concat(perShard);
+        if (perShard.size() > 1) {
+            all.sort(order);
+        }
+        return all;
+    }
+
+    private List<BookingResponse> cancelAll(List<Booking> locked) {
+        // Rows are locked, so every id is still ACTIVE and the update count matches.
+        List<BookingResponse> cancelled = locked.stream()
+                .map(BookingService::convertToResponse)
                 .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < cancelled.size(); from += SLOT_LOOKUP_CHUNK) {
+            List<Long> ids = cancelled.subList(from, Math.min(from + SLOT_LOOKUP_CHUNK, cancelled.size()))
+                    .stream()
+                    .map(BookingResponse::getId)
+                    .collect(Collectors.toList());
+            if (bookingRepository.cancelAllIfActive(ids, now) != ids.size()) {
+                // Only possible if the database doesn't re-check the predicate after waiting on a lock.
+                throw new OptimisticLockingFailureException("Bookings changed while being cancelled; retry");
+            }
+        }
+        for (BookingResponse response : cancelled) {
+            response.setStatus("CANCELLED");
+            response.setMessage("Booking cancelled successfully");
+            onCancelled(response);
+        }
+        return cancelled;
+    }
+
+    private void onCancelled(BookingResponse response) {
+        activeSlotIndex.onCancelled(response.getUserId(), response.getResourceId(), response.getBookingDate());
+        resourceAvailability.onCancelled(response.getUserId(), response.getResourceId(), response.getBookingDate());
+        userBookingsCache.invalidateAfterCommit(response.getUserId());
+        bookingVersions.bumpAfterCommit(response.getUserId());
+        bookingEventPublisher.publish("booking.cancelled", response);
+    }
+
+    private String validate(BookingRequest request) {
+        if (request == null) {
+            return "Booking request is required";
+        }
+        Set<ConstraintViolation<BookingRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private Set<SlotKey> findExistingSlots(Collection<SlotKey> keys) {
+        // The unique constraint spans every status, so cancelled rows count as taken too.
+        Set<SlotKey> existing = new HashSet<>();
+        List<SlotKey> all = new ArrayList<>(keys);
+        for (int from = 0; from < all.size(); from += SLOT_LOOKUP_CHUNK) {
+            List<SlotKey> chunk = all.subList(from, Math.min(from + SLOT_LOOKUP_CHUNK, all.size()));
+            Set<String> userIds = new HashSet<>();
+            Set<String> resourceIds = new HashSet<>();
+            Set<LocalDateTime> bookingDates = new HashSet<>();
+            for (SlotKey key : chunk) {
+                userIds.add(key.userId());
+                resourceIds.add(key.resourceId());
+                bookingDates.add(key.bookingDate());
+            }
+            for (Object[] row : bookingRepository.findSlotsIn(userIds, resourceIds, bookingDates)) {
+                existing.add(new SlotKey((String) row[0], (String) row[1], (LocalDateTime) row[2]));
+            }
+        }
+        return existing;
     }
 
-    private BookingResponse convertToResponse(Booking booking) {
+    /** Waits for a leader's outcome: whether the slot is now taken, or null if it is still running. */
+    private Boolean awaitFlight(CompletableFuture<Boolean> leader) {
+        try {
+            return leader.get(createCoalesceWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a concurrent booking", e);
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    private void land(SlotKey key, CompletableFuture<Boolean> flight, boolean taken) {
+        createFlights.remove(key, flight);
+        flight.complete(taken);
+    }
+
+    private static DuplicateBookingException duplicate(SlotKey key) {
+        return new DuplicateBookingException("Booking already exists for user " + key.userId() +
+                " and resource " + key.resourceId() + " at " + key.bookingDate());
+    }
+
+    static BookingResponse convertToResponse(Booking booking) {
         return new BookingResponse(
                 booking.getId(),
                 booking.getUserId(),
@@ -88,4 +512,14 @@ public class BookingService {
                 booking.getCreatedAt()
         );
     }
-}
\ No newline at end of file
+
+    private record SlotKey(String userId, String resourceId, LocalDateTime bookingDate) {
+        static SlotKey of(BookingRequest request) {
+            return new SlotKey(request.getUserId(), request.getResourceId(), request.getBookingDate());
+        }
+    }
+
+    private interface PageQuery {
+        List<BookingResponse> find(BookingFilter filter, BookingCursor after, int limit);
+    }
+}
@@ -0,0 +1,76 @@
+package com.booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory change counters for the active booking lists, used as ETags so polling
+ * clients get a 304 without a database query. Every change draws a stamp from one
+ * global sequence; a user's version is the stamp of their latest change. Users
+ * evicted from the bounded map fall back to the highest evicted stamp, so a
+ * version can only move forward. Tags carry a per-process epoch and are never
+ * reused across restarts.
+ *
+ * <p>The counters only see writes from other nodes through
+ * {@link BookingCacheInvalidationListener}. With
+ * {@code booking.cache.user-bookings.remote-invalidation} off they would miss them and
+ * answer 304 for a list that changed elsewhere, so no tags are handed out then.
+ */
+@Component
+public class BookingVersions {
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong global = new AtomicLong();
+    private final AtomicLong evictedFloor = new AtomicLong();
+    private final Cache<String, Long> users;
+
+    private final boolean enabled;
+
+    public BookingVersions(@Value("${booking.versions.max-users:100000}") long maxUsers,
+                           @Value("${booking.cache.user-bookings.remote-invalidation:true}") boolean enabled) {
+        this.enabled = enabled;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .evictionListener((String userId, Long stamp, RemovalCause cause) ->
+                        evictedFloor.accumulateAndGet(stamp, Math::max))
+                .build();
+    }
+
+    /** ETag for the list of all active bookings; null when tags are off. */
+    public String globalTag() {
+        if (!enabled) {
+            return null;
+        }
+        return tag(global.get());
+    }
+
+    /** ETag for one user's active bookings; null when tags are off. */
+    public String userTag(String userId) {
+        if (!enabled) {
+            return null;
+        }
+        Long stamp = users.getIfPresent(userId);
+        return tag(stamp != null ? stamp : evictedFloor.get());
+    }
+
+    /** Bumps the global and the user's version once the current transaction commits. */
+    public void bumpAfterCommit(String userId) {
+        TransactionHooks.afterCommit(() -> bump(userId));
+    }
+
+    /** Bumps immediately; for changes that were committed elsewhere. */
+    public void bump(String userId) {
+        long stamp = global.incrementAndGet();
+        users.asMap().merge(userId, stamp, Math::max);
+    }
+
+    private String tag(long stamp) {
+        // Weak: JSON, CBOR and compressed bodies of one version are equivalent, not byte-identical.
+        return "W/\"" + epoch + "-" + stamp + "\"";
+    }
+}
@@ -0,0 +1,111 @@
+package com.booking.service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Hashed timing wheel: a timeout goes into the bucket of its deadline tick modulo the
+ * wheel size, and {@link #advance()} only visits the buckets of ticks that have passed,
+ * so expiring needs neither a timer per timeout nor a scan of everything outstanding.
+ * Timeouts far enough out to wrap around stay in their bucket until the tick that
+ * matches their deadline. Scheduling and cancelling are lock-free from any thread; new
+ * timeouts are queued and only moved into buckets by the advancing thread.
+ * Timeouts never fire early and fire at most one tick plus the advance interval late.
+ */
+final class HashedTimingWheel<T> {
+    private final long tickNanos;
+    private final int mask;
+    private final ArrayDeque<Timeout<T>>[] buckets;
+    private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private final Consumer<T> onExpiry;
+    /** Next tick to process; only read and written under the advance lock. */
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    HashedTimingWheel(Duration tickDuration, int wheelSize, LongSupplier nanoClock, Consumer<T> onExpiry) {
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("Tick duration must be positive: " + tickDuration);
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickNanos = tickDuration.toNanos();
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayDeque[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+        this.onExpiry = onExpiry;
+    }
+
+    Timeout<T> schedule(T value, Duration delay) {
+        long deadline = nanoClock.getAsLong() - startNanos + delay.toNanos();
+        Timeout<T> timeout = new Timeout<>(value, Math.ceilDiv(deadline, tickNanos));
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /** Fires every timeout whose tick has passed; returns how many fired. */
+    synchronized int advance() {
+        long now = (nanoClock.getAsLong() - startNanos) / tickNanos;
+        for (Timeout<T> timeout; (timeout = pending.poll()) != null; ) {
+            if (!timeout.cancelled) {
+                // Overdue timeouts land in the current bucket, which is visited next.
+                buckets[(int) (Math.max(timeout.deadlineTick, tick) & mask)].add(timeout);
+            }
+        }
+        int fired = 0;
+        if (now - tick > mask) {
+            // Paused for more than a lap: every bucket is due, so visit each one once.
+            for (ArrayDeque<Timeout<T>> bucket : buckets) {
+                fired += expire(bucket, now);
+            }
+        } else {
+            for (; tick <= now; tick++) {
+                fired += expire(buckets[(int) (tick & mask)], tick);
+            }
+        }
+        tick = Math.max(tick, now + 1);
+        return fired;
+    }
+
+    private int expire(ArrayDeque<Timeout<T>> bucket, long upTo) {
+        int fired = 0;
+        for (Iterator<Timeout<T>> it = bucket.iterator(); it.hasNext(); ) {
+            Timeout<T> timeout = it.next();
+            if (timeout.cancelled) {
+                it.remove();
+            } else if (timeout.deadlineTick <= upTo) {
+                it.remove();
+                fired++;
+                onExpiry.accept(timeout.value);
+            }
+        }
+        return fired;
+    }
+
+    static final class Timeout<T> {
+        private final T value;
+        private final long deadlineTick;
+        private volatile boolean cancelled;
+
+        private Timeout(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /** Drops the timeout; it is removed lazily when its bucket is next visited. */
+        void cancel() {
+            cancelled = true;
+        }
+    }
+}
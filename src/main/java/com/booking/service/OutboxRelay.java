@@ -0,0 +1,239 @@
+package com.booking.service;
+
+import com.booking.dto.BookingResponse;
+import com.booking.entity.OutboxEvent;
+import com.booking.repository.OutboxEventRepository;
+import com.booking.sharding.BookingShards;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox in id order and publishes each batch with a single flush, so
+ * broker latency never sits on the request path. Every node runs the relay: a batch is
+ * first claimed for {@code booking.outbox.claim-timeout}, and rows claimed by another
+ * node are skipped until their claim runs out. Delivery is at-least-once: a crash, or a
+ * claim expiring, between send and {@code markSent} republishes the batch. Events that
+ * fail {@code booking.outbox.max-attempts} times are dead-lettered: left unsent in the
+ * table, no longer retried, and counted in {@code booking.outbox.dead}. When an event
+ * fails, the later events of its key in the batch stay unsent even if their own send
+ * succeeded, so each key's last copy on the topic follows the retried event; they go
+ * out again once it is sent or dead-lettered.
+ */
+@Component
+public class OutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private BookingShards bookingShards;
+
+    @Value("${booking.outbox.batch-size:500}")
+    private int batchSize;
+    @Value("${booking.outbox.send-timeout:PT30S}")
+    private Duration sendTimeout;
+    @Value("${booking.outbox.retention:PT24H}")
+    private Duration retention;
+    @Value("${booking.outbox.claim-timeout:PT2M}")
+    private Duration claimTimeout;
+    @Value("${booking.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+    private final Counter published;
+    private final Counter failed;
+    private final Timer batchTimer;
+    private final Timer sendSuccess;
+    private final Timer sendFailure;
+
+    public OutboxRelay(MeterRegistry meterRegistry) {
+        this.published = Counter.builder("booking.outbox.published")
+                .description("Outbox events published to Kafka")
+                .register(meterRegistry);
+        this.failed = Counter.builder("booking.outbox.failed")
+                .description("Outbox events whose publish attempt failed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("booking.outbox.batch")
+                .description("Time to publish and acknowledge one outbox batch")
+                .register(meterRegistry);
+        this.sendSuccess = sendTimer(meterRegistry, "success");
+        this.sendFailure = sendTimer(meterRegistry, "failure");
+        Gauge.builder("booking.outbox.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest unsent outbox event")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("booking.outbox.pending", pending, AtomicLong::get)
+                .description("Unsent outbox events still being retried")
+                .register(meterRegistry);
+        Gauge.builder("booking.outbox.dead", dead, AtomicLong::get)
+                .description("Unsent outbox events given up after the maximum attempts")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.poll-interval:PT0.2S}")
+    public void relay() {
+        // Each shard keeps its own outbox, written in the same transaction as its bookings.
+        long oldestMillis = 0;
+        long unsent = 0;
+        long deadLettered = 0;
+        for (int shard = 0; shard < bookingShards.count(); shard++) {
+            long[] lag = new long[3];
+            bookingShards.onShard(shard, () -> {
+                relayShard();
+                lag[0] = oldestUnsentMillis();
+                lag[1] = outboxEventRepository.countBySentAtIsNullAndAttemptsLessThan(maxAttempts);
+                lag[2] = outboxEventRepository.countBySentAtIsNullAndAttemptsGreaterThanEqual(maxAttempts);
+            });
+            oldestMillis = Math.max(oldestMillis, lag[0]);
+            unsent += lag[1];
+            deadLettered += lag[2];
+        }
+        lagMillis.set(oldestMillis);
+        pending.set(unsent);
+        dead.set(deadLettered);
+    }
+
+    private void relayShard() {
+        int sent;
+        do {
+            List<OutboxEvent> batch = claimBatch();
+            if (batch.isEmpty()) {
+                break;
+            }
+            Timer.Sample sample = Timer.start();
+            sent = publish(batch);
+            sample.stop(batchTimer);
+        } while (sent == batchSize);
+    }
+
+    /** Claims up to a batch of free rows; rows another node claimed in between are left out. */
+    private List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = outboxEventRepository.findClaimable(maxAttempts, now, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String token = UUID.randomUUID().toString();
+        if (outboxEventRepository.claim(ids, token, now.plus(claimTimeout), now) == 0) {
+            return List.of();
+        }
+        return outboxEventRepository.findClaimed(token);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.cleanup-interval:PT1H}")
+    public void purgeSent() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        for (int shard = 0; shard < bookingShards.count(); shard++) {
+            bookingShards.onShard(shard, () -> {
+                int deleted = outboxEventRepository.deleteSentBefore(cutoff);
+                if (deleted > 0) {
+                    logger.debug("Purged {} published outbox events", deleted);
+                }
+            });
+        }
+    }
+
+    private int publish(List<OutboxEvent> batch) {
+        List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            futures.add(send(event));
+        }
+        kafkaTemplate.flush();
+
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        List<Long> failedIds = new ArrayList<>();
+        List<Long> heldBackIds = new ArrayList<>();
+        Set<String> failedKeys = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Long id = batch.get(i).getId();
+            String key = batch.get(i).getMessageKey();
+            try {
+                futures.get(i).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                // Went out ahead of an earlier event of its key; publish it again after that one.
+                (failedKeys.contains(key) ? heldBackIds : sentIds).add(id);
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                logger.warn("Failed to publish outbox event {}: {}", id, e.getMessage());
+                if (batch.get(i).getAttempts() + 1 >= maxAttempts) {
+                    logger.error("Giving up on outbox event {} after {} attempts", id, maxAttempts);
+                }
+                failedIds.add(id);
+                failedKeys.add(key);
+            }
+        }
+        if (!sentIds.isEmpty()) {
+            outboxEventRepository.markSent(sentIds, LocalDateTime.now());
+            published.increment(sentIds.size());
+        }
+        if (!failedIds.isEmpty()) {
+            outboxEventRepository.markFailed(failedIds);
+            failed.increment(failedIds.size());
+        }
+        if (!heldBackIds.isEmpty()) {
+            outboxEventRepository.release(heldBackIds);
+        }
+        // Stop draining on failure so a broker outage doesn't spin the relay.
+        return failedIds.isEmpty() ? sentIds.size() : 0;
+    }
+
+    private CompletableFuture<SendResult<String, Object>> send(OutboxEvent event) {
+        try {
+            BookingResponse payload = objectMapper.readValue(event.getPayload(), BookingResponse.class);
+            long start = System.nanoTime();
+            ProducerRecord<String, Object> record =
+                    new ProducerRecord<>(event.getTopic(), event.getMessageKey(), payload);
+            record.headers().add(BookingEventPublisher.EVENT_TYPE_HEADER,
+                    event.getEventType().getBytes(StandardCharsets.UTF_8));
+            return kafkaTemplate.send(record)
+                    .whenComplete((result, ex) -> (ex == null ? sendSuccess : sendFailure)
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("booking.kafka.send")
+                .description("Time from send to broker acknowledgement per booking event")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private long oldestUnsentMillis() {
+        LocalDateTime oldest = outboxEventRepository.findOldestLiveCreatedAt(maxAttempts);
+        return oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis();
+    }
+}
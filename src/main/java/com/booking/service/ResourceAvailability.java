@@ -0,0 +1,393 @@
+package com.booking.service;
+
+import com.booking.config.ReadWriteRoutingDataSource;
+import com.booking.exception.AvailabilityNotReadyException;
+import com.booking.exception.InvalidAvailabilityQueryException;
+import com.booking.repository.BookingRepository;
+import com.booking.sharding.BookingShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory occupancy of every resource, used to answer free-slot searches without a
+ * database query. Time is cut into cells of {@code booking.availability.granularity};
+ * an active booking occupies the cells overlapping {@code [bookingDate, bookingDate +
+ * booking-length)}. Each resource keeps one bitmap word run per day over a contiguous
+ * range of days, a small count map for the rare cells held by more than one booking, and
+ * a sorted fingerprint of (userId, bookingDate) for every booking it counts.
+ *
+ * <p>Changes are applied once the booking transaction commits, so a search never shows a
+ * slot as taken by a booking that rolled back; those made on other nodes arrive through
+ * {@link BookingCacheInvalidationListener}. A booking is counted at most once and only a
+ * counted booking can be released, so a change seen twice (locally and from Kafka) is a
+ * no-op and a release never frees cells another booking holds. The whole index is rebuilt
+ * from the {@code bookings} table at startup and every {@code rebuild-interval}; changes
+ * that land while a rebuild reads the table are replayed onto the new index, where a
+ * cancellation of a booking the rebuild never read is ignored.
+ */
+@Component
+public class ResourceAvailability {
+    private static final Logger logger = LoggerFactory.getLogger(ResourceAvailability.class);
+
+    private static final long SECONDS_PER_DAY = 86_400;
+    private static final long[] NO_WORDS = new long[0];
+    private static final int GROWTH_DAYS = 31;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingShards bookingShards;
+
+    private final long cellSeconds;
+    private final int cellsPerDay;
+    private final int wordsPerDay;
+    private final long bookingSeconds;
+    private final Duration maxRange;
+
+    /** Guards the swap at the end of a rebuild; changes take the read side. */
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile Map<String, Occupancy> resources = new ConcurrentHashMap<>();
+    /** Changes made while a rebuild is reading the table; null otherwise. */
+    private Queue<Change> replay;
+    private volatile boolean loaded;
+
+    public ResourceAvailability(@Value("${booking.availability.granularity:PT15M}") Duration granularity,
+                                @Value("${booking.availability.booking-length:PT30M}") Duration bookingLength,
+                                @Value("${booking.availability.max-range:P62D}") Duration maxRange) {
+        this.cellSeconds = granularity.getSeconds();
+        if (cellSeconds <= 0 || granularity.getNano() != 0 || SECONDS_PER_DAY % cellSeconds != 0) {
+            throw new IllegalArgumentException("booking.availability.granularity must divide a day into whole seconds");
+        }
+        if (bookingLength.isNegative() || bookingLength.isZero()) {
+            throw new IllegalArgumentException("booking.availability.booking-length must be positive");
+        }
+        this.cellsPerDay = (int) (SECONDS_PER_DAY / cellSeconds);
+        this.wordsPerDay = (cellsPerDay + 63) >>> 6;
+        this.bookingSeconds = bookingLength.getSeconds();
+        this.maxRange = maxRange;
+    }
+
+    public void onBooked(String userId, String resourceId, LocalDateTime bookingDate) {
+        TransactionHooks.afterCommit(() -> apply(new Change(userId, resourceId, bookingDate, true)));
+    }
+
+    public void onCancelled(String userId, String resourceId, LocalDateTime bookingDate) {
+        TransactionHooks.afterCommit(() -> apply(new Change(userId, resourceId, bookingDate, false)));
+    }
+
+    /**
+     * Starts of the {@code slot}-long windows in {@code [from, to)} that no active booking
+     * overlaps. Windows are laid back to back from {@code from} rounded up to the cell grid.
+     */
+    public List<LocalDateTime> freeSlots(String resourceId, LocalDateTime from, LocalDateTime to, Duration slot) {
+        if (!loaded) {
+            throw new AvailabilityNotReadyException("Availability index is still loading");
+        }
+        if (!from.isBefore(to)) {
+            throw new InvalidAvailabilityQueryException("'from' must be before 'to'");
+        }
+        if (Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw new InvalidAvailabilityQueryException("Range may span at most " + maxRange.toDays() + " days");
+        }
+        long slotSeconds = slot.getSeconds();
+        if (slotSeconds <= 0 || slot.getNano() != 0 || slotSeconds % cellSeconds != 0) {
+            throw new InvalidAvailabilityQueryException(
+                    "Slot must be a positive multiple of " + Duration.ofSeconds(cellSeconds).toMinutes() + " minutes");
+        }
+        long first = Math.ceilDiv(epochSecond(from) + (from.getNano() > 0 ? 1 : 0), cellSeconds);
+        long end = Math.floorDiv(epochSecond(to), cellSeconds);
+        int slotCells = (int) (slotSeconds / cellSeconds);
+        if (end - first < slotCells) {
+            return List.of();
+        }
+        int cells = (int) (end - first);
+        long[] taken = new long[(cells + 63) >>> 6];
+        Occupancy occupancy = resources.get(resourceId);
+        if (occupancy != null) {
+            occupancy.copy(first, end, taken);
+        }
+
+        List<LocalDateTime> free = new ArrayList<>();
+        for (int start = 0; start + slotCells <= cells; start += slotCells) {
+            if (isClear(taken, start, start + slotCells)) {
+                free.add(LocalDateTime.ofEpochSecond((first + start) * cellSeconds, 0, ZoneOffset.UTC));
+            }
+        }
+        return free;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${booking.availability.rebuild-interval:PT1H}",
+            fixedDelayString = "${booking.availability.rebuild-interval:PT1H}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        ReadWriteRoutingDataSource.pinPrimaryForTransaction();
+        long start = System.nanoTime();
+        Queue<Change> changes = new ConcurrentLinkedQueue<>();
+        swapLock.writeLock().lock();
+        try {
+            replay = changes;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        Map<String, Occupancy> fresh = new ConcurrentHashMap<>();
+        // Days before yesterday can't be searched usefully; leaving them out keeps the bitmaps short.
+        long oldestDay = LocalDate.now().minusDays(1).toEpochDay();
+        long[] rows = new long[1];
+        try {
+            bookingShards.forEachShard(true, shard -> {
+                try (Stream<Object[]> slots = bookingRepository.streamActiveSlots()) {
+                    slots.forEach(row -> {
+                        LocalDateTime bookingDate = (LocalDateTime) row[2];
+                        if (bookingDate.toLocalDate().toEpochDay() >= oldestDay) {
+                            mark(fresh, new Change((String) row[0], (String) row[1], bookingDate, true));
+                            rows[0]++;
+                        }
+                    });
+                }
+            });
+        } catch (RuntimeException e) {
+            // Keep serving the previous index; its own changes were applied all along.
+            swapLock.writeLock().lock();
+            try {
+                replay = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            for (Change change : changes) {
+                mark(fresh, change);
+            }
+            replay = null;
+            resources = fresh;
+            loaded = true;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        logger.info("Availability index rebuilt from {} active bookings over {} resources in {} ms",
+                rows[0], fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Applies a committed change immediately; for changes committed on other nodes and the
+     * benchmark. Applying the same change twice has no further effect.
+     */
+    void apply(Change change) {
+        swapLock.readLock().lock();
+        try {
+            if (replay != null) {
+                replay.add(change);
+            }
+            mark(resources, change);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /** Marks the index loaded without reading the table; for tests and the benchmark. */
+    void markLoaded() {
+        loaded = true;
+    }
+
+    private void mark(Map<String, Occupancy> target, Change change) {
+        LocalDateTime bookingDate = change.bookingDate();
+        long start = epochSecond(bookingDate);
+        long firstCell = Math.floorDiv(start, cellSeconds);
+        long endCell = Math.ceilDiv(start + bookingSeconds + (bookingDate.getNano() > 0 ? 1 : 0), cellSeconds);
+        long booking = fingerprint(change.userId(), bookingDate);
+        if (change.booked()) {
+            target.computeIfAbsent(change.resourceId(), id -> new Occupancy()).occupy(booking, firstCell, endCell);
+        } else {
+            Occupancy occupancy = target.get(change.resourceId());
+            if (occupancy != null) {
+                occupancy.release(booking, firstCell, endCell);
+            }
+        }
+    }
+
+    /** 64-bit FNV-1a of the user id mixed with the booking time; identifies a booking within its resource. */
+    static long fingerprint(String userId, LocalDateTime bookingDate) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < userId.length(); i++) {
+            hash = (hash ^ userId.charAt(i)) * 0x100000001b3L;
+        }
+        long time = epochSecond(bookingDate) * 1_000_000_000L + bookingDate.getNano();
+        return hash ^ (time * 0x9e3779b97f4a7c15L);
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /** True if no bit in {@code [from, to)} is set. */
+    static boolean isClear(long[] bits, int from, int to) {
+        int i = from;
+        while (i < to) {
+            int bit = i & 63;
+            int n = Math.min(64 - bit, to - i);
+            long mask = (n == 64 ? -1L : (1L << n) - 1) << bit;
+            if ((bits[i >>> 6] & mask) != 0) {
+                return false;
+            }
+            i += n;
+        }
+        return true;
+    }
+
+    record Change(String userId, String resourceId, LocalDateTime bookingDate, boolean booked) {}
+
+    /**
+     * One resource's bitmaps: {@code wordsPerDay} words for every day from {@code firstDay}
+     * on, so a month of a resource's bookings is a single array. Cells taken more than once
+     * carry the extra bookings in {@code shared}. The first {@code count} entries of
+     * {@code bookings} are the sorted fingerprints of the bookings counted.
+     */
+    private final class Occupancy {
+        private long firstDay;
+        private long[] words = NO_WORDS;
+        private Map<Long, Integer> shared;
+        private long[] bookings = NO_WORDS;
+        private int count;
+
+        synchronized void occupy(long booking, long fromCell, long toCell) {
+            int at = Arrays.binarySearch(bookings, 0, count, booking);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            if (count == bookings.length) {
+                bookings = Arrays.copyOf(bookings, Math.max(4, count + (count >> 1)));
+            }
+            System.arraycopy(bookings, at, bookings, at + 1, count - at);
+            bookings[at] = booking;
+            count++;
+            ensureDays(Math.floorDiv(fromCell, cellsPerDay), Math.floorDiv(toCell - 1, cellsPerDay));
+            for (long cell = fromCell; cell < toCell; cell++) {
+                int word = wordIndex(cell);
+                long bit = 1L << (Math.floorMod(cell, cellsPerDay) & 63);
+                if ((words[word] & bit) == 0) {
+                    words[word] |= bit;
+                } else {
+                    if (shared == null) {
+                        shared = new HashMap<>();
+                    }
+                    shared.merge(cell, 1, Integer::sum);
+                }
+            }
+        }
+
+        synchronized void release(long booking, long fromCell, long toCell) {
+            int at = Arrays.binarySearch(bookings, 0, count, booking);
+            if (at < 0) {
+                return;
+            }
+            System.arraycopy(bookings, at + 1, bookings, at, count - at - 1);
+            count--;
+            for (long cell = fromCell; cell < toCell; cell++) {
+                long day = Math.floorDiv(cell, cellsPerDay);
+                if (day < firstDay || day >= firstDay + days()) {
+                    continue;
+                }
+                Integer extra = shared != null ? shared.get(cell) : null;
+                if (extra != null) {
+                    if (extra > 1) {
+                        shared.put(cell, extra - 1);
+                    } else {
+                        shared.remove(cell);
+                    }
+                    continue;
+                }
+                words[wordIndex(cell)] &= ~(1L << (Math.floorMod(cell, cellsPerDay) & 63));
+            }
+        }
+
+        /** Copies the set cells of {@code [fromCell, toCell)} into {@code out}, bit 0 being {@code fromCell}. */
+        synchronized void copy(long fromCell, long toCell, long[] out) {
+            long lastDay = firstDay + days() - 1;
+            long fromDay = Math.max(firstDay, Math.floorDiv(fromCell, cellsPerDay));
+            long toDay = Math.min(lastDay, Math.floorDiv(toCell - 1, cellsPerDay));
+            for (long day = fromDay; day <= toDay; day++) {
+                int base = (int) (day - firstDay) * wordsPerDay;
+                long dayCell = day * cellsPerDay;
+                for (int w = 0; w < wordsPerDay; w++) {
+                    long word = words[base + w];
+                    while (word != 0) {
+                        long cell = dayCell + ((long) w << 6) + Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                        if (cell >= fromCell && cell < toCell) {
+                            int offset = (int) (cell - fromCell);
+                            out[offset >>> 6] |= 1L << (offset & 63);
+                        }
+                    }
+                }
+            }
+        }
+
+        private int days() {
+            return words.length / wordsPerDay;
+        }
+
+        private int wordIndex(long cell) {
+            long day = Math.floorDiv(cell, cellsPerDay);
+            return (int) (day - firstDay) * wordsPerDay + (Math.floorMod(cell, cellsPerDay) >>> 6);
+        }
+
+        private void ensureDays(long fromDay, long toDay) {
+            if (words.length == 0) {
+                firstDay = fromDay;
+                words = new long[(int) (toDay - fromDay + 1) * wordsPerDay];
+                return;
+            }
+            long lastDay = firstDay + days() - 1;
+            if (fromDay >= firstDay && toDay <= lastDay) {
+                return;
+            }
+            // Grow by up to a month more than needed on the side that overflowed, so bookings
+            // arriving day by day don't copy the array every time.
+            long newFirst = Math.min(firstDay, fromDay);
+            long newLast = Math.max(lastDay, toDay);
+            if (newFirst < firstDay) {
+                newFirst = Math.min(newFirst, firstDay - Math.min(days(), GROWTH_DAYS));
+            }
+            if (newLast > lastDay) {
+                newLast = Math.max(newLast, lastDay + Math.min(days(), GROWTH_DAYS));
+            }
+            long[] grown = new long[(int) (newLast - newFirst + 1) * wordsPerDay];
+            System.arraycopy(words, 0, grown, (int) (firstDay - newFirst) * wordsPerDay, words.length);
+            words = grown;
+            firstDay = newFirst;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.booking.service;
+
+import com.booking.dto.BookingRequest;
+import com.booking.dto.BookingResponse;
+import com.booking.dto.SlotHoldResponse;
+import com.booking.exception.DuplicateBookingException;
+import com.booking.exception.HoldNotFoundException;
+import com.booking.exception.SlotHeldException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Two-phase booking for contended resources: a hold reserves a (resourceId, bookingDate)
+ * slot in memory for a limited time, and confirming it creates the booking. While a slot
+ * is held, further holds on it are rejected from the map without touching the database,
+ * and {@link BookingService} rejects bookings of it by any other user. A hold is only
+ * granted on a slot without an ACTIVE booking. Holds expire through a
+ * {@link HashedTimingWheel} advanced every tick.
+ *
+ * <p>Holds live in this process only: exclusivity holds for clients that reach the same
+ * instance (e.g. routed by resourceId). The database has no constraint per slot, so a
+ * booking made through another instance, or one committing while the hold is granted,
+ * is not stopped.
+ */
+@Service
+public class SlotHoldService {
+    // Lazy: BookingService asks this service about holds on every create.
+    @Lazy
+    @Autowired
+    private BookingService bookingService;
+
+    private final Map<SlotKey, Hold> bySlot = new ConcurrentHashMap<>();
+    private final Map<String, Hold> byId = new ConcurrentHashMap<>();
+    private final HashedTimingWheel<Hold> wheel;
+    private final LongSupplier nanoClock;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    private final Counter held;
+    private final Counter contended;
+    private final Counter confirmed;
+    private final Counter released;
+    private final Counter expired;
+
+    @Autowired
+    public SlotHoldService(MeterRegistry meterRegistry,
+                           @Value("${booking.holds.ttl:PT30S}") Duration defaultTtl,
+                           @Value("${booking.holds.max-ttl:PT5M}") Duration maxTtl,
+                           @Value("${booking.holds.tick:PT0.1S}") Duration tick,
+                           @Value("${booking.holds.wheel-size:512}") int wheelSize) {
+        this(meterRegistry, defaultTtl, maxTtl, tick, wheelSize, System::nanoTime);
+    }
+
+    SlotHoldService(MeterRegistry meterRegistry, Duration defaultTtl, Duration maxTtl, Duration tick, int wheelSize,
+                    LongSupplier nanoClock) {
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+        this.nanoClock = nanoClock;
+        this.wheel = new HashedTimingWheel<>(tick, wheelSize, nanoClock, this::expire);
+        this.held = holdCounter(meterRegistry, "held");
+        this.contended = holdCounter(meterRegistry, "contended");
+        this.confirmed = holdCounter(meterRegistry, "confirmed");
+        this.released = holdCounter(meterRegistry, "released");
+        this.expired = holdCounter(meterRegistry, "expired");
+        Gauge.builder("booking.holds.active", byId, Map::size)
+                .description("Slot holds currently outstanding")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Holds the slot for {@code ttl} (the configured default when null, capped at the
+     * maximum). Throws {@link SlotHeldException} while another hold on the slot is live,
+     * and {@link DuplicateBookingException} if the slot already has an ACTIVE booking.
+     */
+    public SlotHoldResponse hold(BookingRequest request, Duration ttl) {
+        Duration holdFor = ttl == null ? defaultTtl : ttl.compareTo(maxTtl) > 0 ? maxTtl : ttl;
+        if (holdFor.isNegative() || holdFor.isZero()) {
+            throw new IllegalArgumentException("Hold duration must be positive: " + ttl);
+        }
+        long now = nanoClock.getAsLong();
+        SlotKey slot = new SlotKey(request.getResourceId(), request.getBookingDate());
+        Hold hold = new Hold(UUID.randomUUID().toString(), request.getUserId(), slot, now + holdFor.toNanos());
+        for (Hold current; (current = bySlot.putIfAbsent(slot, hold)) != null; ) {
+            // The wheel may not have reached an overdue hold yet; take it over instead of waiting.
+            if (!current.isOverdue(now) || !current.finish()) {
+                contended.increment();
+                throw new SlotHeldException("Resource " + slot.resourceId() + " at " + slot.bookingDate()
+                        + " is held by another client");
+            }
+            forget(current);
+            expired.increment();
+        }
+        // Checked once the slot is ours, so contended holds never reach the database.
+        boolean booked;
+        try {
+            booked = bookingService.isSlotBooked(slot.resourceId(), slot.bookingDate());
+        } catch (RuntimeException e) {
+            bySlot.remove(slot, hold);
+            throw e;
+        }
+        if (booked) {
+            bySlot.remove(slot, hold);
+            contended.increment();
+            throw new DuplicateBookingException("Resource " + slot.resourceId() + " is already booked at "
+                    + slot.bookingDate());
+        }
+        byId.put(hold.id, hold);
+        hold.timeout = wheel.schedule(hold, holdFor);
+        held.increment();
+        return new SlotHoldResponse(hold.id, hold.userId, slot.resourceId(), slot.bookingDate(),
+                LocalDateTime.now().plus(holdFor));
+    }
+
+    /** Turns a live hold into a booking; the hold is gone afterwards whatever the outcome. */
+    public BookingResponse confirm(String holdId) {
+        Hold hold = byId.get(holdId);
+        if (hold == null || hold.isOverdue(nanoClock.getAsLong()) || !hold.finish()) {
+            throw new HoldNotFoundException("Hold " + holdId + " not found or expired");
+        }
+        try {
+            BookingResponse response = bookingService.addBooking(
+                    new BookingRequest(hold.userId, hold.slot.resourceId(), hold.slot.bookingDate()));
+            confirmed.increment();
+            return response;
+        } finally {
+            forget(hold);
+        }
+    }
+
+    /** Whether a live hold of a user other than {@code userId} covers the slot. */
+    public boolean isHeldByOther(String userId, String resourceId, LocalDateTime bookingDate) {
+        Hold hold = bySlot.get(new SlotKey(resourceId, bookingDate));
+        return hold != null && !hold.userId.equals(userId) && !hold.isOverdue(nanoClock.getAsLong());
+    }
+
+    /** Throws {@link SlotHeldException} while another user holds the slot. */
+    public void checkNotHeldByOther(String userId, String resourceId, LocalDateTime bookingDate) {
+        if (isHeldByOther(userId, resourceId, bookingDate)) {
+            contended.increment();
+            throw new SlotHeldException("Resource " + resourceId + " at " + bookingDate
+                    + " is held by another client");
+        }
+    }
+
+    /** Gives a hold back early; unknown, expired or confirming holds are left alone. */
+    public void release(String holdId) {
+        Hold hold = byId.get(holdId);
+        if (hold != null && hold.finish()) {
+            forget(hold);
+            released.increment();
+        }
+    }
+
+    @Scheduled(fixedRateString = "${booking.holds.tick:PT0.1S}")
+    public void expireHolds() {
+        wheel.advance();
+    }
+
+    private void expire(Hold hold) {
+        if (hold.finish()) {
+            forget(hold);
+            expired.increment();
+        }
+    }
+
+    private void forget(Hold hold) {
+        bySlot.remove(hold.slot, hold);
+        byId.remove(hold.id, hold);
+        HashedTimingWheel.Timeout<Hold> timeout = hold.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    private static Counter holdCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("booking.holds")
+                .description("Slot hold requests by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record SlotKey(String resourceId, LocalDateTime bookingDate) {}
+
+    private static final class Hold {
+        private final String id;
+        private final String userId;
+        private final SlotKey slot;
+        private final long expiresAtNanos;
+        /** Set once by whichever of confirm, release or expiry gets the hold first. */
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile HashedTimingWheel.Timeout<Hold> timeout;
+
+        private Hold(String id, String userId, SlotKey slot, long expiresAtNanos) {
+            this.id = id;
+            this.userId = userId;
+            this.slot = slot;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isOverdue(long nowNanos) {
+            return nowNanos - expiresAtNanos >= 0;
+        }
+
+        boolean finish() {
+            return finished.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.booking.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects until the surrounding transaction has completed.
+ * Without an active transaction, commit actions run immediately and rollback
+ * actions are dropped.
+ */
+final class TransactionHooks {
+    private TransactionHooks() {}
+
+    static void afterCommit(Runnable action) {
+        afterCompletion(true, action);
+    }
+
+    static void afterRollback(Runnable action) {
+        afterCompletion(false, action);
+    }
+
+    private static void afterCompletion(boolean onCommit, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (onCommit) {
+                action.run();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if ((status == STATUS_COMMITTED) == onCommit) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package com.booking.service;
+
+import com.booking.dto.BookingResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, expiring cache of each user's active bookings. Local writes invalidate
+ * after commit; writes on other nodes invalidate through {@link BookingCacheInvalidationListener}.
+ */
+@Component
+public class UserBookingsCache {
+    private static final String CACHE_NAME = "userBookings";
+
+    private final Cache<String, Entry> cache;
+    private final AtomicLong staleReads = new AtomicLong();
+
+    public UserBookingsCache(@Value("${booking.cache.user-bookings.max-size:10000}") long maxSize,
+                             @Value("${booking.cache.user-bookings.ttl:PT30S}") Duration ttl,
+                             MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("booking.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .description("Fraction of lookups served from the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("booking.cache.stale.reads", staleReads, AtomicLong::get)
+                .tag("cache", CACHE_NAME)
+                .description("Entries served after a remote write they did not reflect")
+                .register(meterRegistry);
+    }
+
+    public List<BookingResponse> get(String userId, Function<String, List<BookingResponse>> loader) {
+        Entry entry = cache.get(userId, key -> new Entry(loader.apply(key), System.currentTimeMillis()));
+        entry.lastReadAt = System.currentTimeMillis();
+        return entry.bookings;
+    }
+
+    public void invalidateAfterCommit(String userId) {
+        TransactionHooks.afterCommit(() -> cache.invalidate(userId));
+    }
+
+    public void invalidate(String userId, long changedAt) {
+        Entry entry = cache.asMap().remove(userId);
+        if (entry != null && entry.loadedAt < changedAt && entry.lastReadAt > changedAt) {
+            staleReads.incrementAndGet();
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static final class Entry {
+        private final List<BookingResponse> bookings;
+        private final long loadedAt;
+        private volatile long lastReadAt;
+
+        private Entry(List<BookingResponse> bookings, long loadedAt) {
+            this.bookings = List.copyOf(bookings);
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.booking.sharding;
+
+import com.booking.config.ShardingProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Maps bookings to shards and runs work against them. A booking lives on the shard
+ * picked by a stable hash of its resourceId, and its id carries that shard in the low
+ * {@value #SHARD_BITS} bits. The current shard is a thread binding read by
+ * {@link ShardRoutingDataSource} and {@link ShardedSequenceGenerator}; with a single
+ * shard nothing is ever bound and every helper runs its work inline.
+ */
+@Component
+@EnableConfigurationProperties(ShardingProperties.class)
+public class BookingShards implements DisposableBean {
+    public static final int SHARD_BITS = 6;
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+
+    private static final ThreadLocal<Integer> currentShard = new ThreadLocal<>();
+    private static final int FNV32_OFFSET = 0x811c9dc5;
+    private static final int FNV32_PRIME = 0x01000193;
+
+    private final int count;
+    private final PlatformTransactionManager transactionManager;
+    private final ExecutorService executor;
+
+    @Autowired
+    public BookingShards(ShardingProperties properties, PlatformTransactionManager transactionManager) {
+        this(properties.isEnabled() ? properties.getShards().size() : 1, transactionManager);
+    }
+
+    public BookingShards(int count, PlatformTransactionManager transactionManager) {
+        if (count < 1 || count > MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard count must be between 1 and " + MAX_SHARDS + ": " + count);
+        }
+        this.count = count;
+        this.transactionManager = transactionManager;
+        this.executor = count > 1 ? Executors.newVirtualThreadPerTaskExecutor() : null;
+    }
+
+    public static BookingShards unsharded() {
+        return new BookingShards(1, null);
+    }
+
+    /** The shard bound to this thread, or {@code null} outside any shard-scoped work. */
+    public static Integer currentShard() {
+        return currentShard.get();
+    }
+
+    public static long encodeId(long sequenceValue, int shard) {
+        return (sequenceValue << SHARD_BITS) | shard;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    public int forResource(String resourceId) {
+        if (count == 1) {
+            return 0;
+        }
+        // Placement depends on this hash; changing it means moving data.
+        int hash = FNV32_OFFSET;
+        for (int i = 0; i < resourceId.length(); i++) {
+            hash = (hash ^ resourceId.charAt(i)) * FNV32_PRIME;
+        }
+        return Math.floorMod(hash, count);
+    }
+
+    /** Whether {@code bookingId} names a shard that exists; ids from clients may not. */
+    public boolean hasShardFor(long bookingId) {
+        return count == 1 || (bookingId & (MAX_SHARDS - 1)) < count;
+    }
+
+    public int forBooking(long bookingId) {
+        if (!hasShardFor(bookingId)) {
+            throw new IllegalArgumentException("Booking id " + bookingId + " names no configured shard");
+        }
+        return count == 1 ? 0 : (int) (bookingId & (MAX_SHARDS - 1));
+    }
+
+    /**
+     * Binds {@code shard} until the current transaction completes, so statements
+     * flushed at commit still reach it. Must be called before the transaction's
+     * first statement.
+     */
+    public void bindForTransaction(int shard) {
+        if (count == 1) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Shard binding requires an active transaction");
+        }
+        Integer previous = currentShard.get();
+        currentShard.set(shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                restore(previous);
+            }
+        });
+    }
+
+    /** Runs {@code work} with {@code shard} bound but without a transaction of its own. */
+    public void onShard(int shard, Runnable work) {
+        if (count == 1) {
+            work.run();
+            return;
+        }
+        Integer previous = currentShard.get();
+        currentShard.set(shard);
+        try {
+            work.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Runs {@code work} in a new transaction on {@code shard}. Unsharded, it simply
+     * joins the caller's transaction.
+     */
+    public <T> T inTransaction(int shard, boolean readOnly, Supplier<T> work) {
+        if (count == 1) {
+            return work.get();
+        }
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(readOnly);
+        Integer previous = currentShard.get();
+        currentShard.set(shard);
+        try {
+            return template.execute(status -> work.get());
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /** Runs {@code work} once per shard, one after the other, each in its own transaction. */
+    public void forEachShard(boolean readOnly, IntConsumer work) {
+        for (int shard = 0; shard < count; shard++) {
+            int target = shard;
+            inTransaction(target, readOnly, () -> {
+                work.accept(target);
+                return null;
+            });
+        }
+    }
+
+    /** Scatter-gather: runs {@code work} on every shard in parallel and returns the results in shard order. */
+    public <T> List<T> onEachShard(boolean readOnly, IntFunction<T> work) {
+        if (count == 1) {
+            return List.of(work.apply(0));
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> inTransaction(target, readOnly, () -> work.apply(target)), executor));
+        }
+        List<T> results = new ArrayList<>(count);
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static void restore(Integer previous) {
+        if (previous == null) {
+            currentShard.remove();
+        } else {
+            currentShard.set(previous);
+        }
+    }
+}
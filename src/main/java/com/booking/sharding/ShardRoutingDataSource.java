@@ -0,0 +1,29 @@
+package com.booking.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Hands out connections of the shard bound by {@link BookingShards}; unbound work
+ * (schema export on startup, the read model, the H2 console) uses shard 0. Like the
+ * read/write router it must sit behind a LazyConnectionDataSourceProxy so the shard
+ * is known by the time the first statement runs.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return BookingShards.currentShard();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource shard : getResolvedDataSources().values()) {
+            if (shard instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.booking.sharding;
+
+import org.hibernate.MappingException;
+import org.hibernate.boot.model.relational.Database;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Pooled sequence ids that stay unique across shards. Each shard keeps its own
+ * sequence and its own in-memory block, since a block fetched from one shard's
+ * sequence would repeat values of another's; the shard number then goes into the low
+ * bits via {@link BookingShards#encodeId}. Without a bound shard the plain sequence
+ * value is used, exactly like a regular pooled {@code @SequenceGenerator}.
+ */
+public class ShardedSequenceGenerator implements IdentifierGenerator {
+    private final SequenceStyleGenerator[] delegates = new SequenceStyleGenerator[BookingShards.MAX_SHARDS];
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        for (int shard = 0; shard < delegates.length; shard++) {
+            delegates[shard] = new SequenceStyleGenerator();
+            delegates[shard].configure(type, parameters, serviceRegistry);
+        }
+    }
+
+    @Override
+    public void registerExportables(Database database) {
+        // Every delegate resolves the same sequence; only the first actually adds it.
+        for (SequenceStyleGenerator delegate : delegates) {
+            delegate.registerExportables(database);
+        }
+    }
+
+    @Override
+    public void initialize(SqlStringGenerationContext context) {
+        for (SequenceStyleGenerator delegate : delegates) {
+            delegate.initialize(context);
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        Integer shard = BookingShards.currentShard();
+        if (shard == null) {
+            return delegates[0].generate(session, object);
+        }
+        long value = ((Number) delegates[shard].generate(session, object)).longValue();
+        return BookingShards.encodeId(value, shard);
+    }
+}
@@ -0,0 +1,144 @@
+package com.booking.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and a replica; each holds a
+ * single marker row naming itself, so every read shows where it was routed.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final Duration WINDOW = Duration.ofMillis(300);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("routing-primary", "primary");
+        replica = database("routing-replica", "replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadWriteRoutingDataSource.clearClient();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaAndWritesThePrimary() {
+        Routing routing = new Routing(List.of(replica));
+
+        assertEquals("replica", routing.read());
+        assertEquals("primary", routing.write());
+        assertEquals(1.0, meterRegistry.get("booking.datasource.route")
+                .tag("target", "replica").tag("reason", "read").counter().count());
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromThePrimaryWithinTheWindow() throws Exception {
+        Routing routing = new Routing(List.of(replica));
+
+        ReadWriteRoutingDataSource.bindClient("alice");
+        routing.write();
+        assertEquals("primary", routing.read());
+
+        ReadWriteRoutingDataSource.bindClient("bob");
+        assertEquals("replica", routing.read());
+
+        Thread.sleep(WINDOW.toMillis() + 100);
+        ReadWriteRoutingDataSource.bindClient("alice");
+        assertEquals("replica", routing.read());
+    }
+
+    @Test
+    void rolledBackWritesDoNotPinTheClientToThePrimary() {
+        Routing routing = new Routing(List.of(replica));
+        ReadWriteRoutingDataSource.bindClient("carol");
+
+        routing.transactions.executeWithoutResult(status -> {
+            routing.jdbcTemplate.update("UPDATE marker SET name = name");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", routing.read());
+    }
+
+    @Test
+    void unavailableReplicaIsSkippedInFavourOfHealthyOnes() {
+        Routing routing = new Routing(List.of(unavailable(), replica));
+
+        assertEquals("replica", routing.read());
+        assertEquals("replica", routing.read());
+        assertEquals("replica", routing.read());
+        // Only the first read tried the broken replica; afterwards it is skipped for the retry interval.
+        assertEquals(1.0, meterRegistry.get("booking.datasource.failover").counter().count());
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenNoReplicaIsAvailable() {
+        Routing routing = new Routing(List.of(unavailable()));
+
+        assertEquals("primary", routing.read());
+        assertEquals("primary", routing.read());
+        assertEquals(1.0, meterRegistry.get("booking.datasource.failover").counter().count());
+        assertEquals(2.0, meterRegistry.get("booking.datasource.route")
+                .tag("target", "primary").tag("reason", "no-replica").counter().count());
+    }
+
+    private static DataSource database(String name, String marker) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(20))");
+        jdbc.update("DELETE FROM marker");
+        jdbc.update("INSERT INTO marker VALUES (?)", marker);
+        return dataSource;
+    }
+
+    private static DataSource unavailable() {
+        return new DriverManagerDataSource("jdbc:h2:mem:routing-missing;IFEXISTS=TRUE", "sa", "");
+    }
+
+    private class Routing {
+        final JdbcTemplate jdbcTemplate;
+        final TransactionTemplate transactions;
+        final TransactionTemplate readOnly;
+
+        Routing(List<DataSource> replicas) {
+            ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replicas, WINDOW,
+                    Duration.ofMinutes(1), 1_000, meterRegistry);
+            DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            jdbcTemplate = new JdbcTemplate(dataSource);
+            transactions = new TransactionTemplate(transactionManager);
+            readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+        }
+
+        String read() {
+            return readOnly.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+        }
+
+        String write() {
+            return transactions.execute(status -> {
+                jdbcTemplate.update("UPDATE marker SET name = name");
+                return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+            });
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.booking.config;
+
+import com.booking.dto.BookingRequest;
+import com.booking.dto.BookingResponse;
+import com.booking.service.BookingService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The whole application on a primary and a replica, two separate in-memory H2 databases.
+ * The replica gets the primary's schema but none of its rows, so the data a service call
+ * returns shows which database served it.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.datasource.url=" + ReadWriteRoutingIntegrationTest.PRIMARY_URL,
+        "booking.datasource.routing.enabled=true",
+        "booking.datasource.routing.read-your-writes-window=PT1M",
+        "booking.datasource.routing.replicas[0].url=" + ReadWriteRoutingIntegrationTest.REPLICA_URL,
+        "booking.datasource.routing.replicas[0].username=sa"
+})
+@EmbeddedKafka(partitions = 3, topics = "booking-events")
+class ReadWriteRoutingIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-it-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-it-replica;DB_CLOSE_DELAY=-1";
+
+    private static final LocalDateTime SLOT = LocalDateTime.of(2034, 1, 1, 9, 0);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @AfterEach
+    void tearDown() {
+        ReadWriteRoutingDataSource.clearClient();
+    }
+
+    @Test
+    void readOnlyCallIsServedByTheReplica() {
+        replica.update("INSERT INTO bookings (id, user_id, resource_id, booking_date, status, created_at, version) " +
+                "VALUES (?, ?, ?, ?, 'ACTIVE', ?, 0)", 990_001L, "replica-only", "room-1", SLOT, LocalDateTime.now());
+        double replicaReads = routed("replica", "read");
+
+        List<BookingResponse> bookings = bookingService.getAllActiveBookings();
+
+        assertTrue(bookings.stream().anyMatch(booking -> "replica-only".equals(booking.getUserId())));
+        assertEquals(0, countOf(primary, "replica-only"));
+        assertTrue(routed("replica", "read") > replicaReads);
+    }
+
+    @Test
+    void writeAndTheWritersNextReadGoToThePrimary() {
+        ReadWriteRoutingDataSource.bindClient("routing-writer");
+        double writes = routed("primary", "write");
+        double readYourWrites = routed("primary", "read-your-writes");
+
+        bookingService.addBooking(new BookingRequest("primary-writer", "room-2", SLOT));
+
+        assertEquals(1, countOf(primary, "primary-writer"));
+        assertEquals(0, countOf(replica, "primary-writer"));
+        assertTrue(routed("primary", "write") > writes);
+
+        List<BookingResponse> bookings = bookingService.getAllActiveBookings();
+
+        assertTrue(bookings.stream().anyMatch(booking -> "primary-writer".equals(booking.getUserId())));
+        assertTrue(routed("primary", "read-your-writes") > readYourWrites);
+    }
+
+    @Test
+    void cacheFillIsPinnedToThePrimary() {
+        replica.update("INSERT INTO bookings (id, user_id, resource_id, booking_date, status, created_at, version) " +
+                "VALUES (?, ?, ?, ?, 'ACTIVE', ?, 0)", 990_002L, "cache-fill", "room-3", SLOT, LocalDateTime.now());
+        double pinned = routed("primary", "pinned");
+
+        // A replica that hasn't seen the writes yet must not decide what the cache serves for its TTL.
+        assertTrue(bookingService.getUserBookings("cache-fill").isEmpty());
+        assertTrue(routed("primary", "pinned") > pinned);
+    }
+
+    private static long countOf(JdbcTemplate database, String userId) {
+        Long count = database.queryForObject("SELECT COUNT(*) FROM bookings WHERE user_id = ?", Long.class, userId);
+        return count == null ? 0 : count;
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get("booking.datasource.route").tag("target", target).tag("reason", reason)
+                .counter().count();
+    }
+
+    @TestConfiguration
+    static class ReplicaSchema {
+        /** Copies the schema Hibernate created on the primary before anything reads from the replica. */
+        @Bean
+        SmartInitializingSingleton replicaSchemaCopier(HikariDataSource primaryDataSource,
+                                                       EntityManagerFactory entityManagerFactory) {
+            return () -> {
+                JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+                JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+                for (String statement : primary.queryForList("SCRIPT NODATA", String.class)) {
+                    if (!statement.startsWith("--")) {
+                        replica.execute(statement);
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.booking.config;
+
+import com.booking.service.BookingEventConsumer;
+import com.booking.service.BookingService;
+import com.booking.service.OutboxRelay;
+import com.booking.service.ResourceAvailability;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupConfigTest {
+
+    private final LazyInitializationExcludeFilter filter = StartupConfig.selfDrivenBeansStayEager();
+
+    @Test
+    void scheduledEventAndKafkaBeans_stayEager() {
+        assertTrue(isExcluded(OutboxRelay.class));
+        assertTrue(isExcluded(ResourceAvailability.class));
+        assertTrue(isExcluded(BookingEventConsumer.class));
+    }
+
+    @Test
+    void contextCallbackBeans_stayEager() {
+        // @Bean methods such as ShardingConfig.shardSchemaInitializer are typed by their return type.
+        assertTrue(isExcluded(SmartInitializingSingleton.class));
+        assertTrue(isExcluded(ApplicationListener.class));
+        assertTrue(isExcluded(ReadyListener.class));
+    }
+
+    @Test
+    void beansOnlyReachedThroughRequests_areLazy() {
+        assertFalse(isExcluded(BookingService.class));
+    }
+
+    private boolean isExcluded(Class<?> type) {
+        return filter.isExcluded(type.getSimpleName(), new RootBeanDefinition(type), type);
+    }
+
+    private static class ReadyListener implements ApplicationListener<ApplicationReadyEvent> {
+        @Override
+        public void onApplicationEvent(ApplicationReadyEvent event) {
+        }
+    }
+}
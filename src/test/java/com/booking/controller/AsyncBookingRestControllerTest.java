@@ -0,0 +1,100 @@
+package com.booking.controller;
+
+import com.booking.dto.BookingResponse;
+import com.booking.exception.DuplicateBookingException;
+import com.booking.service.BookingService;
+import com.booking.service.BookingVersions;
+import com.booking.service.SlotHoldService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AsyncBookingRestController.class)
+@ActiveProfiles(AsyncBookingRestController.PROFILE)
+@Import(BookingVersions.class)
+class AsyncBookingRestControllerTest {
+
+    private static final String BOOKING_JSON = """
+            {
+                "userId": "user1",
+                "resourceId": "res1",
+                "bookingDate": "2030-06-01T10:00:00"
+            }
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookingService bookingService;
+
+    @MockBean
+    private SlotHoldService slotHoldService;
+
+    @Test
+    void addBooking_completesAsynchronouslyWithCreated() throws Exception {
+        Mockito.when(bookingService.addBooking(any())).thenReturn(booking());
+
+        MvcResult started = mockMvc.perform(post("/api/bookings/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BOOKING_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.userId").value("user1"));
+    }
+
+    @Test
+    void addBooking_serviceExceptionIsMappedByTheAdvice() throws Exception {
+        Mockito.when(bookingService.addBooking(any())).thenThrow(new DuplicateBookingException("taken"));
+
+        MvcResult started = mockMvc.perform(post("/api/bookings/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BOOKING_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void getAllActiveBookings_unchangedVersionReturnsNotModifiedWithoutQuery() throws Exception {
+        Mockito.when(bookingService.getAllActiveBookings()).thenReturn(List.of(booking()));
+
+        MvcResult started = mockMvc.perform(get("/api/bookings/all")).andReturn();
+        MvcResult first = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].userId").value("user1"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult revalidated = mockMvc.perform(get("/api/bookings/all").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(revalidated))
+                .andExpect(status().isNotModified());
+        Mockito.verify(bookingService, Mockito.times(1)).getAllActiveBookings();
+    }
+
+    private static BookingResponse booking() {
+        return new BookingResponse(1L, "user1", "res1", LocalDateTime.of(2030, 6, 1, 10, 0), "ACTIVE",
+                LocalDateTime.now());
+    }
+}
@@ -1,31 +1,59 @@
 package com.booking.controller;
 
+import com.booking.dto.BookingBatchItemResult;
+import com.booking.dto.BookingBatchResult;
+import com.booking.dto.BookingPage;
 import com.booking.dto.BookingResponse;
+import com.booking.exception.HoldNotFoundException;
+import com.booking.exception.InvalidCursorException;
+import com.booking.exception.SlotHeldException;
 import com.booking.service.BookingService;
+import com.booking.service.BookingVersions;
+import com.booking.service.SlotHoldService;
 import org.junit.jupiter.api.Test;
+import org.hibernate.exception.ConstraintViolationException;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(BookingRestController.class)
+@Import(BookingVersions.class)
 class BookingRestControllerTest {
 
+    private static final String BOOKING_JSON = """
+            {"userId": "user1", "resourceId": "res1", "bookingDate": "2030-06-01T10:00:00"}
+            """;
+
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private BookingVersions bookingVersions;
+
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private SlotHoldService slotHoldService;
+
     @Test
     void addBooking_returnsCreated() throws Exception {
         BookingResponse response = new BookingResponse(1L, "user1", "res1", LocalDateTime.now(), "ACTIVE", LocalDateTime.now());
@@ -56,4 +84,124 @@ class BookingRestControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].userId").value("user1"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllActiveBookings_unchangedVersionReturnsNotModifiedWithoutQuery() throws Exception {
+        Mockito.when(bookingService.getAllActiveBookings()).thenReturn(List.of());
+
+        String etag = mockMvc.perform(get("/api/bookings/all"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/bookings/all").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        Mockito.verify(bookingService, Mockito.times(1)).getAllActiveBookings();
+
+        bookingVersions.bump("user1");
+        mockMvc.perform(get("/api/bookings/all").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, bookingVersions.globalTag()));
+    }
+
+    @Test
+    void getUserBookings_etagOnlyMovesWithThatUsersChanges() throws Exception {
+        Mockito.when(bookingService.getUserBookings("user2")).thenReturn(List.of());
+        String etag = bookingVersions.userTag("user2");
+
+        bookingVersions.bump("someone-else");
+        mockMvc.perform(get("/api/bookings/user/user2").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        bookingVersions.bump("user2");
+        mockMvc.perform(get("/api/bookings/user/user2").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        Mockito.verify(bookingService, Mockito.times(1)).getUserBookings("user2");
+    }
+
+    @Test
+    void getBookingPage_returnsItemsAndCursor() throws Exception {
+        BookingResponse response = new BookingResponse(1L, "user1", "res1", LocalDateTime.now(), "ACTIVE", LocalDateTime.now());
+        Mockito.when(bookingService.getBookingPage(any(), isNull(), eq(1)))
+                .thenReturn(new BookingPage(List.of(response), "next-token"));
+
+        mockMvc.perform(get("/api/bookings/page").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].userId").value("user1"))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"));
+    }
+
+    @Test
+    void getBookingPage_invalidCursorReturnsBadRequest() throws Exception {
+        Mockito.when(bookingService.getBookingPage(any(), eq("garbage"), anyInt()))
+                .thenThrow(new InvalidCursorException("Invalid cursor: garbage"));
+
+        mockMvc.perform(get("/api/bookings/page").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void addBookings_returnsPerItemResults() throws Exception {
+        BookingResponse created = new BookingResponse(1L, "user1", "res1", LocalDateTime.now(), "ACTIVE", LocalDateTime.now());
+        Mockito.when(bookingService.addBookings(any())).thenReturn(new BookingBatchResult(List.of(
+                new BookingBatchItemResult(0, BookingBatchItemResult.CREATED, created, null),
+                new BookingBatchItemResult(1, BookingBatchItemResult.DUPLICATE, null, "Duplicate of batch item 0"))));
+
+        String json = """
+            [
+                {"userId": "user1", "resourceId": "res1", "bookingDate": "2024-06-01T10:00:00"},
+                {"userId": "user1", "resourceId": "res1", "bookingDate": "2024-06-01T10:00:00"}
+            ]
+            """;
+
+        mockMvc.perform(post("/api/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.duplicates").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("DUPLICATE"));
+    }
+
+    @Test
+    void addBooking_slotConstraintViolationReturnsConflict() throws Exception {
+        Mockito.when(bookingService.addBooking(any())).thenThrow(new DataIntegrityViolationException("insert failed",
+                new ConstraintViolationException("duplicate", new SQLException("23505"), "PUBLIC.UK_BOOKING_SLOT_INDEX_A")));
+
+        mockMvc.perform(post("/api/bookings/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BOOKING_JSON))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void addBooking_otherConstraintViolationReturnsBadRequest() throws Exception {
+        Mockito.when(bookingService.addBooking(any())).thenThrow(new DataIntegrityViolationException("insert failed",
+                new ConstraintViolationException("value too long", new SQLException("22001"), null)));
+
+        mockMvc.perform(post("/api/bookings/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BOOKING_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void holdSlot_contendedSlotReturnsConflict() throws Exception {
+        Mockito.when(slotHoldService.hold(any(), eq(Duration.ofSeconds(10))))
+                .thenThrow(new SlotHeldException("Resource res1 is held by another client"));
+
+        mockMvc.perform(post("/api/bookings/hold").param("ttlSeconds", "10")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"userId": "user1", "resourceId": "res1", "bookingDate": "2030-06-01T10:00:00"}
+                            """))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void confirmHold_unknownHoldReturnsNotFound() throws Exception {
+        Mockito.when(slotHoldService.confirm("missing")).thenThrow(new HoldNotFoundException("Hold missing not found"));
+
+        mockMvc.perform(post("/api/bookings/hold/missing/confirm"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,96 @@
+package com.booking.event;
+
+import com.booking.dto.BookingResponse;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingEventCodecTest {
+
+    private static final String TOPIC = "booking-events";
+
+    private final BookingEventDeserializer deserializer = new BookingEventDeserializer();
+
+    @Test
+    void binaryRoundTripKeepsEveryFieldButTheMessage() {
+        BookingResponse event = event();
+
+        BookingResponse decoded = deserializer.deserialize(TOPIC, BookingEventCodec.encode(event));
+
+        assertEquals(event.getId(), decoded.getId());
+        assertEquals(event.getUserId(), decoded.getUserId());
+        assertEquals(event.getResourceId(), decoded.getResourceId());
+        assertEquals(event.getBookingDate(), decoded.getBookingDate());
+        assertEquals(event.getStatus(), decoded.getStatus());
+        assertEquals(event.getCreatedAt(), decoded.getCreatedAt());
+        assertNull(decoded.getMessage());
+    }
+
+    @Test
+    void nullFieldsSurviveTheRoundTrip() {
+        BookingResponse event = new BookingResponse(7L, "user-7", "room-7", LocalDateTime.of(2030, 1, 1, 9, 0),
+                "CANCELLED", null);
+
+        BookingResponse decoded = BookingEventCodec.decode(BookingEventCodec.encode(event));
+
+        assertNull(decoded.getCreatedAt());
+        assertEquals("CANCELLED", decoded.getStatus());
+    }
+
+    @Test
+    void jsonFromOlderProducersIsStillRead() {
+        BookingResponse event = event();
+        byte[] json;
+        try (JsonSerializer<BookingResponse> legacy = new JsonSerializer<>()) {
+            json = legacy.serialize(TOPIC, event);
+        }
+
+        BookingResponse decoded = deserializer.deserialize(TOPIC, json);
+
+        assertEquals(event, decoded);
+    }
+
+    @Test
+    void jsonModeWritesJsonTheDeserializerReads() {
+        BookingEventSerializer serializer = new BookingEventSerializer();
+        serializer.configure(Map.of(BookingEventSerializer.FORMAT_CONFIG, "json"), false);
+
+        byte[] bytes = serializer.serialize(TOPIC, event());
+
+        assertEquals('{', bytes[0]);
+        assertEquals(event().getId(), deserializer.deserialize(TOPIC, bytes).getId());
+    }
+
+    @Test
+    void binaryIsLessThanHalfTheJsonSize() {
+        BookingResponse event = event();
+        byte[] json;
+        try (JsonSerializer<BookingResponse> legacy = new JsonSerializer<>()) {
+            json = legacy.serialize(TOPIC, event);
+        }
+
+        assertTrue(BookingEventCodec.encode(event).length * 2 < json.length,
+                () -> BookingEventCodec.encode(event).length + " vs " + new String(json, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void unknownSchemaVersionIsRejected() {
+        byte[] bytes = BookingEventCodec.encode(event());
+        bytes[1] = 99;
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize(TOPIC, bytes));
+    }
+
+    private static BookingResponse event() {
+        BookingResponse event = new BookingResponse(42L, "user-42", "meeting-room-1",
+                LocalDateTime.of(2030, 1, 1, 9, 30), "ACTIVE", LocalDateTime.of(2029, 12, 1, 8, 0, 5, 123_456_000));
+        event.setMessage("Booking created successfully");
+        return event;
+    }
+}
@@ -0,0 +1,89 @@
+package com.booking.filter;
+
+import com.booking.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsOnceLimitIsReachedWithoutQueueWait() {
+        AdaptiveConcurrencyLimiter limiter = limiter(new ConcurrencyLimitProperties.Limit(2, 1, 10, Duration.ZERO));
+
+        assertTrue(limiter.acquire());
+        assertTrue(limiter.acquire());
+        assertFalse(limiter.acquire());
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(5));
+        assertTrue(limiter.acquire());
+
+        assertEquals(1.0, meterRegistry.get("booking.concurrency.rejected").tag("class", "test").counter().count());
+    }
+
+    @Test
+    void limitShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = limiter(new ConcurrencyLimitProperties.Limit(40, 4, 100, Duration.ZERO));
+        runAtFullLoad(limiter, 500, TimeUnit.MILLISECONDS.toNanos(5));
+        double steady = limiter.getLimit();
+
+        // Short enough that the slow baseline hasn't yet accepted 50 ms as the new normal.
+        runAtFullLoad(limiter, 10, TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertTrue(limiter.getLimit() < steady / 2, "limit " + limiter.getLimit() + " vs " + steady);
+        assertTrue(limiter.getLimit() >= 4);
+    }
+
+    @Test
+    void limitGrowsWhileLatencyIsStableUnderLoad() {
+        AdaptiveConcurrencyLimiter limiter = limiter(new ConcurrencyLimitProperties.Limit(10, 4, 100, Duration.ZERO));
+
+        runAtFullLoad(limiter, 200, TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertTrue(limiter.getLimit() > 10, "limit " + limiter.getLimit());
+        assertTrue(limiter.getLimit() <= 100);
+    }
+
+    @Test
+    void filterShedsWithServiceUnavailable() throws Exception {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setWrite(new ConcurrencyLimitProperties.Limit(1, 1, 1, Duration.ZERO));
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, meterRegistry);
+        assertTrue(filter.writeLimiter().acquire());
+
+        MockHttpServletResponse write = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/bookings/add"), write, new MockFilterChain());
+        MockHttpServletResponse read = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/bookings/all"), read, new MockFilterChain());
+
+        assertEquals(503, write.getStatus());
+        assertEquals("1", write.getHeader("Retry-After"));
+        assertEquals(200, read.getStatus());
+        assertEquals(0, filter.readLimiter().getInflight());
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(ConcurrencyLimitProperties.Limit settings) {
+        return new AdaptiveConcurrencyLimiter("test", settings, meterRegistry);
+    }
+
+    /** Fills every available slot, then completes them all with the given latency. */
+    private static void runAtFullLoad(AdaptiveConcurrencyLimiter limiter, int rounds, long rttNanos) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.acquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(rttNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.booking.filter;
+
+import com.booking.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives 1M distinct client keys through the filter and samples retained heap, which
+ * should plateau once max-keys is reached. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class RateLimitFilterMemoryBenchmarkTest {
+
+    private static final int CLIENTS = 1_000_000;
+    private static final int MAX_KEYS = 50_000;
+
+    @Test
+    void retainedHeapStaysFlatUnderKeyChurn() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxKeys(MAX_KEYS);
+        properties.setPolicies(List.of(
+                new RateLimitProperties.Policy("read", "/api/bookings/**", List.of(), 10, Duration.ofMinutes(1))));
+        RateLimitFilter filter = new RateLimitFilter(properties, new SimpleMeterRegistry());
+
+        long plateau = 0;
+        long start = System.nanoTime();
+        for (int i = 1; i <= CLIENTS; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/bookings/all");
+            request.setRemoteAddr("10." + ((i >> 16) & 0xff) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff));
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            if (i % 200_000 == 0) {
+                long used = retainedHeap();
+                System.out.printf("%,d clients: %,d buckets, %,d KB retained%n", i, filter.trackedKeys(), used / 1024);
+                if (i == 400_000) {
+                    plateau = used;
+                } else if (i > 400_000) {
+                    assertTrue(used < plateau * 1.5, "retained heap kept growing after the key limit");
+                }
+            }
+        }
+        System.out.printf("%,.0f filter calls/s%n", CLIENTS / ((System.nanoTime() - start) / 1e9));
+        assertTrue(filter.trackedKeys() <= MAX_KEYS);
+    }
+
+    private static long retainedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,106 @@
+package com.booking.filter;
+
+import com.booking.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private RateLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setPolicies(List.of(
+                new RateLimitProperties.Policy("write", "/api/bookings/**", List.of("POST"), 2, Duration.ofMinutes(1)),
+                new RateLimitProperties.Policy("read", "/api/bookings/**", List.of("GET"), 5, Duration.ofMinutes(1))));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void rejectsWithRetryAfterOnceWriteBudgetIsSpent() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(properties, meterRegistry);
+
+        assertEquals(200, send(filter, "POST", "/api/bookings/add", "10.0.0.1").getStatus());
+        MockHttpServletResponse second = send(filter, "POST", "/api/bookings/add", "10.0.0.1");
+        MockHttpServletResponse third = send(filter, "POST", "/api/bookings/add", "10.0.0.1");
+
+        assertEquals("2", second.getHeader(RateLimitFilter.LIMIT_HEADER));
+        assertEquals("0", second.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertEquals(429, third.getStatus());
+        assertNotNull(third.getHeader(RateLimitFilter.RETRY_AFTER_HEADER));
+        assertEquals(1.0, meterRegistry.get("booking.ratelimit.requests")
+                .tag("policy", "write").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void readsHaveTheirOwnBudget() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(properties, meterRegistry);
+        send(filter, "POST", "/api/bookings/add", "10.0.0.1");
+        send(filter, "POST", "/api/bookings/add", "10.0.0.1");
+
+        MockHttpServletResponse read = send(filter, "GET", "/api/bookings/all", "10.0.0.1");
+
+        assertEquals(200, read.getStatus());
+        assertEquals("4", read.getHeader(RateLimitFilter.REMAINING_HEADER));
+    }
+
+    @Test
+    void unmatchedPathsAreNotLimited() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(properties, meterRegistry);
+
+        for (int i = 0; i < 50; i++) {
+            MockHttpServletResponse response = send(filter, "GET", "/h2-console/login.jsp", "10.0.0.1");
+            assertEquals(200, response.getStatus());
+            assertNull(response.getHeader(RateLimitFilter.LIMIT_HEADER));
+        }
+        assertEquals(0, filter.trackedKeys());
+    }
+
+    @Test
+    void forwardedForStrategyKeysByOriginalClient() throws Exception {
+        properties.setKeyStrategy(RateLimitProperties.KeyStrategy.FORWARDED_FOR);
+        RateLimitFilter filter = new RateLimitFilter(properties, meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bookings/add");
+            request.setRemoteAddr("10.0.0.254");
+            request.addHeader("X-Forwarded-For", "203.0.113." + i + ", 10.0.0.254");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+        assertEquals(3, filter.trackedKeys());
+    }
+
+    @Test
+    void bucketCountIsBoundedByMaxKeys() throws Exception {
+        properties.setMaxKeys(100);
+        RateLimitFilter filter = new RateLimitFilter(properties, meterRegistry);
+
+        for (int i = 0; i < 1_000; i++) {
+            send(filter, "GET", "/api/bookings/all", "10.1." + (i / 256) + "." + (i % 256));
+        }
+
+        assertTrue(filter.trackedKeys() <= 100);
+    }
+
+    private MockHttpServletResponse send(RateLimitFilter filter, String method, String uri, String remoteAddr)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,66 @@
+package com.booking.metrics;
+
+import com.booking.dto.BookingRequest;
+import com.booking.dto.BookingResponse;
+import com.booking.exception.BookingNotFoundException;
+import com.booking.exception.DuplicateBookingException;
+import com.booking.service.BookingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingServiceMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        BookingService target = new BookingService() {
+            @Override
+            public BookingResponse addBooking(BookingRequest request) {
+                if ("taken".equals(request.getResourceId())) {
+                    throw new DuplicateBookingException("duplicate");
+                }
+                return new BookingResponse();
+            }
+
+            @Override
+            public BookingResponse cancelBooking(Long bookingId) {
+                if (bookingId == 1L) {
+                    throw new IllegalStateException("Cannot cancel booking with status: CANCELLED");
+                }
+                throw new BookingNotFoundException("Booking not found with id: " + bookingId);
+            }
+        };
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new BookingServiceMetrics(meterRegistry));
+        service = factory.getProxy();
+    }
+
+    @Test
+    void tagsEachOutcome() {
+        service.addBooking(new BookingRequest("user1", "res1", null));
+        assertThrows(DuplicateBookingException.class, () -> service.addBooking(new BookingRequest("user1", "taken", null)));
+        assertThrows(IllegalStateException.class, () -> service.cancelBooking(1L));
+        assertThrows(BookingNotFoundException.class, () -> service.cancelBooking(2L));
+
+        assertEquals(1, count("addBooking", "created"));
+        assertEquals(1, count("addBooking", "duplicate"));
+        assertEquals(1, count("cancelBooking", "illegal-state"));
+        assertEquals(1, count("cancelBooking", "not-found"));
+    }
+
+    private long count(String operation, String outcome) {
+        return meterRegistry.get("booking.service")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,234 @@
+package com.booking.repository;
+
+import com.booking.dto.BookingCursor;
+import com.booking.dto.BookingFilter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every {@link BookingRepository} query against seeded {@code bookings} and
+ * {@code bookings_archive} tables (1M rows each by default, {@code -PqueryPlan.rows=...}),
+ * EXPLAINs the SQL Hibernate actually generated and fails if it no longer uses the
+ * expected index or its median latency exceeds the budget
+ * ({@code -PqueryPlan.budgetScale=...} for slow machines).
+ * Run with {@code ./gradlew queryPlanTest}; {@code check} depends on it.
+ */
+@Tag("query-plan")
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.booking.repository.RecordingStatementInspector"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingQueryPlanTest {
+
+    private static final int ROWS = Integer.getInteger("queryPlan.rows", 1_000_000);
+    private static final double BUDGET_SCALE = Double.parseDouble(System.getProperty("queryPlan.budgetScale", "1.0"));
+    private static final int USERS = 20_000;
+    private static final int RESOURCES = 1_000;
+    // Matches the TIMESTAMP literal in the seed statement.
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 5;
+
+    private static final String PK = "PRIMARY_KEY";
+    private static final String SLOT = "UK_BOOKING_SLOT";
+    private static final String STATUS_DATE = "IDX_BOOKING_STATUS_DATE";
+    private static final String USER_STATUS = "IDX_BOOKING_USER_STATUS";
+    private static final String RESOURCE_STATUS = "IDX_BOOKING_RESOURCE_STATUS";
+    private static final String ARCHIVE_USER = "IDX_ARCHIVE_USER_DATE";
+    private static final String ARCHIVE_RESOURCE = "IDX_ARCHIVE_RESOURCE_DATE";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate rollbackTemplate;
+
+    @BeforeAll
+    void seed() {
+        // Row x belongs to user (x mod 20000) and resource (x mod 1000), one minute apart.
+        // About 6% of rows are ACTIVE, so status is selective the way it is in production.
+        jdbcTemplate.update("""
+                INSERT INTO bookings (id, user_id, resource_id, booking_date, status, created_at, updated_at, version)
+                SELECT X, 'user' || MOD(X, %d), 'res' || MOD(X, %d), DATEADD('MINUTE', X, TIMESTAMP '%s'),
+                       CASE WHEN MOD(X / %d, 20) = 0 THEN 'ACTIVE' ELSE 'CANCELLED' END,
+                       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0
+                FROM SYSTEM_RANGE(1, %d)""".formatted(USERS, RESOURCES, "2024-01-01 00:00:00", USERS, ROWS));
+        // The archive gets the same shape of data under its own ids.
+        jdbcTemplate.update("""
+                INSERT INTO bookings_archive
+                       (id, user_id, resource_id, booking_date, status, created_at, updated_at, archived_at)
+                SELECT id + %d, user_id, resource_id, booking_date, status, created_at, updated_at, CURRENT_TIMESTAMP
+                FROM bookings""".formatted(ROWS));
+        jdbcTemplate.execute("ANALYZE");
+        rollbackTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    static Stream<QueryCase> cases() {
+        LocalDateTime activeSlot = BASE.plusMinutes(42);
+        return Stream.of(
+                new QueryCase("findActiveBooking", 10, Set.of(SLOT, USER_STATUS),
+                        r -> r.findActiveBooking("user42", "res42", activeSlot)),
+                new QueryCase("existsActiveOnSlot", 10, Set.of(RESOURCE_STATUS),
+                        r -> r.existsActiveOnSlot("res42", activeSlot)),
+                new QueryCase("findSlotsIn", 20, Set.of(SLOT, USER_STATUS),
+                        r -> r.findSlotsIn(List.of("user42", "user43", "user44"), List.of("res42", "res43", "res44"),
+                                List.of(activeSlot, activeSlot.plusMinutes(1), activeSlot.plusMinutes(2)))),
+                new QueryCase("findByUserIdAndStatus", 10, Set.of(USER_STATUS),
+                        r -> r.findByUserIdAndStatus("user42", "ACTIVE")),
+                new QueryCase("findByResourceIdAndStatus", 20, Set.of(RESOURCE_STATUS),
+                        r -> r.findByResourceIdAndStatus("res42", "ACTIVE")),
+                new QueryCase("findAllActiveBookings", 1_500, Set.of(STATUS_DATE),
+                        BookingRepository::findAllActiveBookings),
+                new QueryCase("findResponsesByUserIdAndStatus", 10, Set.of(USER_STATUS),
+                        r -> r.findResponsesByUserIdAndStatus("user42", "ACTIVE")),
+                new QueryCase("streamActiveSlots", 1_500, Set.of(STATUS_DATE),
+                        BookingRepository::streamActiveSlots),
+                new QueryCase("findResponseById", 5, Set.of(PK),
+                        r -> r.findResponseById(42L)),
+                new QueryCase("cancelIfActive", 5, Set.of(PK),
+                        r -> r.cancelIfActive(42L, LocalDateTime.now())),
+                new QueryCase("cancelAllIfActive", 10, Set.of(PK),
+                        r -> r.cancelAllIfActive(List.of(42L, 43L, 44L), LocalDateTime.now())),
+                new QueryCase("lockActiveByUserId", 20, Set.of(USER_STATUS),
+                        r -> r.lockActiveByUserId("user42")),
+                new QueryCase("lockActiveByResourceId", 40, Set.of(RESOURCE_STATUS),
+                        r -> r.lockActiveByResourceId("res42")),
+                new QueryCase("lockCancelled", 20, Set.of(STATUS_DATE),
+                        r -> r.lockCancelled(PageRequest.of(0, 500))),
+                new QueryCase("lockActiveBefore", 20, Set.of(STATUS_DATE),
+                        r -> r.lockActiveBefore(BASE.plusDays(30), PageRequest.of(0, 500))),
+                new QueryCase("findPage", 20, Set.of(STATUS_DATE),
+                        r -> r.findPage(new BookingFilter(null, null, "ACTIVE", null, null), null, 51)),
+                new QueryCase("findPage", 20, Set.of(STATUS_DATE),
+                        r -> r.findPage(new BookingFilter(null, null, "ACTIVE", null, null),
+                                new BookingCursor(BASE.plusDays(300), 500_000L), 51)),
+                new QueryCase("findPage", 20, Set.of(STATUS_DATE),
+                        r -> r.findPage(new BookingFilter(null, null, "ACTIVE", BASE.plusDays(10), BASE.plusDays(20)),
+                                null, 51)),
+                new QueryCase("findPage", 20, Set.of(USER_STATUS),
+                        r -> r.findPage(new BookingFilter("user42", null, "ACTIVE", null, null), null, 51)),
+                new QueryCase("findPage", 20, Set.of(RESOURCE_STATUS),
+                        r -> r.findPage(new BookingFilter(null, "res42", "ACTIVE", null, null), null, 51)),
+                new QueryCase("findArchivedPage", 20, Set.of(ARCHIVE_USER),
+                        r -> r.findArchivedPage(new BookingFilter("user42", null, null, null, null), null, 51)),
+                new QueryCase("findArchivedPage", 20, Set.of(ARCHIVE_RESOURCE),
+                        r -> r.findArchivedPage(new BookingFilter(null, "res42", null, null, null),
+                                new BookingCursor(BASE.plusDays(300), 500_000L), 51)),
+                new QueryCase("streamFiltered", 20, Set.of(USER_STATUS),
+                        r -> r.streamFiltered(new BookingFilter("user42", null, "ACTIVE", null, null), 500)),
+                new QueryCase("streamFiltered", 40, Set.of(RESOURCE_STATUS),
+                        r -> r.streamFiltered(new BookingFilter(null, "res42", "ACTIVE", null, null), 500)));
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @MethodSource("cases")
+    void usesIndexWithinBudget(QueryCase queryCase) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            run(queryCase);
+        }
+        long[] runs = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            runs[i] = run(queryCase);
+        }
+        Arrays.sort(runs);
+        double medianMillis = runs[MEASURED_RUNS / 2] / 1e6;
+
+        String sql = RecordingStatementInspector.last();
+        String plan = explain(sql);
+        System.out.printf("%s: median %.2f ms%n%s%n", queryCase, medianMillis, plan);
+
+        String upperPlan = plan.toUpperCase();
+        assertFalse(upperPlan.contains("TABLESCAN"), () -> queryCase + " scans the table:\n" + plan);
+        assertTrue(queryCase.indexes().stream().anyMatch(upperPlan::contains),
+                () -> queryCase + " expected one of " + queryCase.indexes() + ":\n" + plan);
+        double budget = queryCase.budgetMillis() * BUDGET_SCALE;
+        assertTrue(medianMillis <= budget,
+                () -> String.format("%s took %.2f ms, budget %.0f ms", queryCase, medianMillis, budget));
+    }
+
+    @Test
+    void everyRepositoryQueryHasAPlanCase() {
+        Set<String> declared = Stream.of(BookingRepository.class, BookingRepositoryCustom.class)
+                .flatMap(type -> Arrays.stream(type.getDeclaredMethods()))
+                .filter(method -> !method.isSynthetic() && !method.isDefault())
+                .map(Method::getName)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Set<String> covered = cases().map(QueryCase::method).collect(Collectors.toCollection(TreeSet::new));
+
+        assertEquals(declared, covered);
+    }
+
+    /** Runs the call in a transaction that is always rolled back and returns its duration. */
+    private long run(QueryCase queryCase) {
+        RecordingStatementInspector.clear();
+        long start = System.nanoTime();
+        rollbackTemplate.executeWithoutResult(status -> {
+            Object result = queryCase.call().apply(bookingRepository);
+            if (result instanceof Stream<?> rows) {
+                try (rows) {
+                    rows.forEach(row -> { });
+                }
+            }
+            status.setRollbackOnly();
+        });
+        return System.nanoTime() - start;
+    }
+
+    /** Parameter values don't influence H2's index choice, so they are all bound as NULL. */
+    private String explain(String sql) {
+        return jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatementCallback<String>) statement -> {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setNull(i, Types.NULL);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        });
+    }
+
+    record QueryCase(String method, long budgetMillis, Set<String> indexes, Function<BookingRepository, Object> call) {
+        @Override
+        public String toString() {
+            return method + " " + indexes;
+        }
+    }
+}
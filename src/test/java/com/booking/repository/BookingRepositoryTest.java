@@ -0,0 +1,81 @@
+package com.booking.repository;
+
+import com.booking.dto.BookingCursor;
+import com.booking.dto.BookingFilter;
+import com.booking.dto.BookingResponse;
+import com.booking.entity.Booking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class BookingRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 6, 1, 10, 0);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            // Pairs of bookings share a date so the id tie-breaker is exercised.
+            bookingRepository.save(new Booking("user" + (i % 2), "res" + (i % 3), BASE.plusHours(i / 2), "ACTIVE"));
+        }
+        bookingRepository.save(new Booking("user0", "res0", BASE.plusDays(1), "CANCELLED"));
+    }
+
+    @Test
+    void findPage_walksAllActiveRowsInKeysetOrder() {
+        BookingFilter filter = new BookingFilter(null, null, "ACTIVE", null, null);
+        List<BookingResponse> seen = new ArrayList<>();
+        BookingCursor cursor = null;
+        while (true) {
+            List<BookingResponse> page = bookingRepository.findPage(filter, cursor, 3);
+            seen.addAll(page);
+            if (page.size() < 3) {
+                break;
+            }
+            cursor = BookingCursor.decode(BookingCursor.after(page.get(page.size() - 1)).encode());
+        }
+
+        assertEquals(10, seen.size());
+        assertEquals(10, seen.stream().map(BookingResponse::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            BookingResponse previous = seen.get(i - 1);
+            BookingResponse current = seen.get(i);
+            int byDate = current.getBookingDate().compareTo(previous.getBookingDate());
+            assertTrue(byDate < 0 || (byDate == 0 && current.getId() > previous.getId()));
+        }
+    }
+
+    @Test
+    void streamFiltered_appliesResourceAndDateRange() {
+        BookingFilter filter = new BookingFilter(null, "res0", "ACTIVE", BASE.plusHours(1), BASE.plusHours(4));
+        try (Stream<BookingResponse> rows = bookingRepository.streamFiltered(filter, 2)) {
+            List<BookingResponse> result = rows.toList();
+            assertFalse(result.isEmpty());
+            assertTrue(result.stream().allMatch(b -> "res0".equals(b.getResourceId())
+                    && !b.getBookingDate().isBefore(BASE.plusHours(1))
+                    && b.getBookingDate().isBefore(BASE.plusHours(4))));
+        }
+    }
+
+    @Test
+    void findPage_statusFilterSelectsCancelled() {
+        BookingFilter filter = new BookingFilter("user0", null, "CANCELLED", null, null);
+
+        List<BookingResponse> page = bookingRepository.findPage(filter, null, 10);
+
+        assertEquals(1, page.size());
+        assertEquals("CANCELLED", page.get(0).getStatus());
+    }
+}
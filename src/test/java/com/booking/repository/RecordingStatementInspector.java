@@ -0,0 +1,31 @@
+package com.booking.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Captures the SQL Hibernate sends so tests can EXPLAIN exactly what a repository
+ * method runs. Registered through {@code hibernate.session_factory.statement_inspector}.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+
+    static void clear() {
+        statements.clear();
+    }
+
+    static String last() {
+        if (statements.isEmpty()) {
+            throw new IllegalStateException("No SQL was recorded");
+        }
+        return statements.get(statements.size() - 1);
+    }
+}
@@ -0,0 +1,55 @@
+package com.booking.service;
+
+import com.booking.dto.BookingRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compares create throughput with the slot index trusted and bypassed.
+ * Run with {@code ./gradlew benchmark}; excluded from the regular test task.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}"
+})
+@EmbeddedKafka(partitions = 3, topics = "booking-events")
+class ActiveSlotIndexBenchmarkTest {
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 20_000;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ActiveSlotIndex activeSlotIndex;
+
+    @Test
+    void createThroughput_indexOnVersusOff() {
+        run(ActiveSlotIndex.Mode.DISABLED, "warmup-off", WARMUP);
+        run(ActiveSlotIndex.Mode.ENABLED, "warmup-on", WARMUP);
+
+        double off = run(ActiveSlotIndex.Mode.DISABLED, "off", ITERATIONS);
+        double on = run(ActiveSlotIndex.Mode.ENABLED, "on", ITERATIONS);
+
+        System.out.printf("addBooking throughput: index off %.0f ops/s, index on %.0f ops/s (%.2fx)%n",
+                off, on, on / off);
+    }
+
+    private double run(ActiveSlotIndex.Mode mode, String prefix, int iterations) {
+        activeSlotIndex.setMode(mode);
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 0, 0);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            bookingService.addBooking(new BookingRequest(prefix + "-user-" + (i % 500),
+                    "res-" + (i % 50), base.plusMinutes(i)));
+        }
+        return iterations / ((System.nanoTime() - start) / 1e9);
+    }
+}
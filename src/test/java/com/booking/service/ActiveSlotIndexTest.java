@@ -0,0 +1,134 @@
+package com.booking.service;
+
+import com.booking.repository.BookingRepository;
+import com.booking.sharding.BookingShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActiveSlotIndexTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 6, 1, 10, 0);
+
+    private BookingRepository bookingRepository;
+    private ActiveSlotIndex index;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = Mockito.mock(BookingRepository.class);
+        Mockito.when(bookingRepository.streamActiveSlots())
+                .thenAnswer(invocation -> Stream.<Object[]>of(new Object[]{"user1", "res1", DATE}));
+        index = new ActiveSlotIndex(ActiveSlotIndex.Mode.ENABLED);
+        ReflectionTestUtils.setField(index, "bookingRepository", bookingRepository);
+        ReflectionTestUtils.setField(index, "bookingShards", BookingShards.unsharded());
+    }
+
+    @Test
+    void beforeLoad_everyKeyNeedsLookup() {
+        assertTrue(index.mightBeActive("user2", "res1", DATE));
+    }
+
+    @Test
+    void load_missIsTrustedAndHitIsReported() {
+        index.load();
+
+        assertTrue(index.mightBeActive("user1", "res1", DATE));
+        assertFalse(index.mightBeActive("user1", "res1", DATE.plusHours(1)));
+        assertFalse(index.mightBeActive("user1", "res2", DATE));
+    }
+
+    @Test
+    void bookAndCancel_outsideTransactionUpdateImmediately() {
+        index.load();
+
+        index.onBooked("user2", "res1", DATE);
+        assertTrue(index.mightBeActive("user2", "res1", DATE));
+
+        index.onCancelled("user2", "res1", DATE);
+        assertFalse(index.mightBeActive("user2", "res1", DATE));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void disabledMode_alwaysRequiresLookup() {
+        index.load();
+        index.setMode(ActiveSlotIndex.Mode.DISABLED);
+
+        assertTrue(index.mightBeActive("nobody", "res9", DATE));
+    }
+
+    @Test
+    void shadowMode_countsMissedActiveBookings() {
+        index.load();
+        index.setMode(ActiveSlotIndex.Mode.SHADOW);
+
+        assertTrue(index.mightBeActive("user3", "res1", DATE));
+        index.recordLookup("user3", "res1", DATE, true);
+        index.recordLookup("user1", "res1", DATE, true);
+
+        assertEquals(1, index.getFalseMisses());
+    }
+
+    @Test
+    void verify_repairsSlotsMissingFromIndex() {
+        index.load();
+        index.onCancelled("user1", "res1", DATE);
+        assertFalse(index.mightBeActive("user1", "res1", DATE));
+
+        index.verify();
+
+        assertTrue(index.mightBeActive("user1", "res1", DATE));
+    }
+
+    @Test
+    void verify_dropsSlotsGoneFromTheTableOnTheSecondPass() {
+        index.load();
+        index.onBooked("user2", "res1", DATE);
+
+        index.verify();
+        assertTrue(index.mightBeActive("user2", "res1", DATE));
+
+        index.verify();
+        assertFalse(index.mightBeActive("user2", "res1", DATE));
+        assertTrue(index.mightBeActive("user1", "res1", DATE));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void verify_keepsASlotBookedAgainSinceThePreviousPass() {
+        index.load();
+        index.onBooked("user2", "res1", DATE);
+        index.verify();
+
+        index.onBooked("user2", "res1", DATE);
+        index.verify();
+
+        assertTrue(index.mightBeActive("user2", "res1", DATE));
+    }
+
+    @Test
+    void verify_restoresUndercountedSlots() {
+        Mockito.when(bookingRepository.streamActiveSlots()).thenAnswer(invocation -> Stream.<Object[]>of(
+                new Object[]{"user1", "res1", DATE}, new Object[]{"user1", "res1", DATE}));
+        index.load();
+        index.onCancelled("user1", "res1", DATE);
+        index.onCancelled("user1", "res1", DATE);
+
+        index.verify();
+        index.onCancelled("user1", "res1", DATE);
+
+        assertTrue(index.mightBeActive("user1", "res1", DATE));
+    }
+
+    @Test
+    void fingerprint_separatesFieldBoundaries() {
+        assertNotEquals(ActiveSlotIndex.fingerprint("ab", "c", DATE),
+                ActiveSlotIndex.fingerprint("a", "bc", DATE));
+    }
+}
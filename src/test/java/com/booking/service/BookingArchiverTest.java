@@ -0,0 +1,91 @@
+package com.booking.service;
+
+import com.booking.dto.BookingFilter;
+import com.booking.dto.BookingPage;
+import com.booking.dto.BookingRequest;
+import com.booking.dto.BookingResponse;
+import com.booking.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:archive-test",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "booking.archive.enabled=false",
+        "booking.archive.batch-size=2",
+        "booking.archive.batch-pause=PT0S"
+})
+@EmbeddedKafka(partitions = 3, topics = "booking-events")
+class BookingArchiverTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingArchiver bookingArchiver;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ActiveSlotIndex activeSlotIndex;
+
+    @Test
+    void cancelledAndPastBookingsMoveToTheArchive() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        BookingResponse cancelled = bookingService.addBooking(new BookingRequest("archive-user", "res1", now.plusDays(5)));
+        bookingService.cancelBooking(cancelled.getId());
+        BookingResponse past = bookingService.addBooking(new BookingRequest("archive-user", "res2", now.minusDays(3)));
+        BookingResponse upcoming = bookingService.addBooking(new BookingRequest("archive-user", "res3", now.plusDays(1)));
+        BookingResponse recent = bookingService.addBooking(new BookingRequest("archive-user", "res4", now.minusHours(1)));
+        assertEquals(3, bookingService.getUserBookings("archive-user").size());
+
+        // Batches of two: the run keeps going until a batch comes back short.
+        assertEquals(2, bookingArchiver.archiveShard(now.minusDays(1)));
+
+        assertTrue(bookingRepository.findById(cancelled.getId()).isEmpty());
+        assertTrue(bookingRepository.findById(past.getId()).isEmpty());
+        assertTrue(bookingRepository.findById(upcoming.getId()).isPresent());
+        assertTrue(bookingRepository.findById(recent.getId()).isPresent());
+        assertFalse(activeSlotIndex.mightBeActive("archive-user", "res2", now.minusDays(3)));
+        assertEquals(2, bookingService.getUserBookings("archive-user").size());
+
+        BookingFilter filter = new BookingFilter("archive-user", null, null, null, null);
+        BookingPage archived = bookingService.getArchivedPage(filter, null, 50);
+        Map<Long, String> statuses = archived.getItems().stream()
+                .collect(Collectors.toMap(BookingResponse::getId, BookingResponse::getStatus));
+        assertEquals(Map.of(cancelled.getId(), "CANCELLED", past.getId(), "ACTIVE"), statuses);
+        assertNull(archived.getNextCursor());
+
+        assertEquals(0, bookingArchiver.archiveShard(now.minusDays(1)));
+    }
+
+    @Test
+    void archivedHistoryPagesByResource() {
+        LocalDateTime base = LocalDateTime.now().withNano(0).plusDays(30);
+        for (int i = 0; i < 5; i++) {
+            BookingResponse created = bookingService.addBooking(
+                    new BookingRequest("history-user-" + i, "history-res", base.plusHours(i)));
+            bookingService.cancelBooking(created.getId());
+        }
+        bookingArchiver.archiveShard(LocalDateTime.now().minusDays(1));
+
+        BookingFilter filter = new BookingFilter(null, "history-res", null, null, null);
+        BookingPage first = bookingService.getArchivedPage(filter, null, 3);
+        assertEquals(3, first.getItems().size());
+        assertEquals(base.plusHours(4), first.getItems().get(0).getBookingDate());
+        BookingPage second = bookingService.getArchivedPage(filter, first.getNextCursor(), 3);
+        assertEquals(2, second.getItems().size());
+        assertEquals(base, second.getItems().get(1).getBookingDate());
+        assertNull(second.getNextCursor());
+    }
+}
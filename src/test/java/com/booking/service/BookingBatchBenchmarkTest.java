@@ -0,0 +1,72 @@
+package com.booking.service;
+
+import com.booking.dto.BookingBatchResult;
+import com.booking.dto.BookingRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares rows per second of addBookings against repeated addBooking calls.
+ * Run with {@code ./gradlew benchmark}; excluded from the regular test task.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}"
+})
+@EmbeddedKafka(partitions = 3, topics = "booking-events")
+class BookingBatchBenchmarkTest {
+
+    private static final int ROWS = 20_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void rowsPerSecond_batchVersusSingle() {
+        single("warmup-single", 2_000);
+        batched("warmup-batch", 2_000);
+
+        double single = single("single", ROWS);
+        double batched = batched("batch", ROWS);
+
+        System.out.printf("insert throughput: single %.0f rows/s, batch of %d %.0f rows/s (%.2fx)%n",
+                single, BATCH_SIZE, batched, batched / single);
+    }
+
+    private double single(String prefix, int rows) {
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            bookingService.addBooking(request(prefix, i));
+        }
+        return rows / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private double batched(String prefix, int rows) {
+        long start = System.nanoTime();
+        for (int from = 0; from < rows; from += BATCH_SIZE) {
+            List<BookingRequest> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = from; i < Math.min(from + BATCH_SIZE, rows); i++) {
+                batch.add(request(prefix, i));
+            }
+            BookingBatchResult result = bookingService.addBookings(batch);
+            assertEquals(batch.size(), result.getCreated());
+        }
+        return rows / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private BookingRequest request(String prefix, int i) {
+        return new BookingRequest(prefix + "-user-" + (i % 500), "res-" + (i % 50),
+                LocalDateTime.of(2030, 1, 1, 0, 0).plusMinutes(i));
+    }
+}
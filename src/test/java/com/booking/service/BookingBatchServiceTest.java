@@ -0,0 +1,148 @@
+package com.booking.service;
+
+import com.booking.dto.BookingBatchItemResult;
+import com.booking.dto.BookingBatchResult;
+import com.booking.dto.BookingRequest;
+import com.booking.dto.BookingResponse;
+import com.booking.entity.Booking;
+import com.booking.exception.BatchTooLargeException;
+import com.booking.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * {@code addBookings} against the real table: per-item outcomes, what reaches the
+ * database, and the size cap.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "booking.batch.max-size=5"
+})
+@EmbeddedKafka(partitions = 3, topics = "booking-events")
+class BookingBatchServiceTest {
+
+    private static final LocalDateTime SLOT = LocalDateTime.of(2033, 1, 1, 9, 0);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @SpyBean
+    private BookingRepository bookingRepository;
+
+    @Test
+    void duplicateInsideTheBatch_isReportedAgainstTheFirstItem() {
+        BookingBatchResult result = bookingService.addBookings(List.of(
+                new BookingRequest("batch-dup", "room-1", SLOT),
+                new BookingRequest("batch-dup", "room-1", SLOT),
+                new BookingRequest("batch-dup", "room-2", SLOT)));
+
+        assertStatuses(result, BookingBatchItemResult.CREATED, BookingBatchItemResult.DUPLICATE,
+                BookingBatchItemResult.CREATED);
+        assertEquals("Duplicate of batch item 0", result.getResults().get(1).getMessage());
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getDuplicates());
+        assertEquals(2, rowsOf("batch-dup").size());
+    }
+
+    @Test
+    void duplicateOfAnActiveBooking_isNotInsertedAgain() {
+        bookingService.addBooking(new BookingRequest("batch-existing", "room-1", SLOT));
+
+        BookingBatchResult result = bookingService.addBookings(List.of(
+                new BookingRequest("batch-existing", "room-1", SLOT),
+                new BookingRequest("batch-existing", "room-1", SLOT.plusHours(1))));
+
+        assertStatuses(result, BookingBatchItemResult.DUPLICATE, BookingBatchItemResult.CREATED);
+        assertEquals(2, rowsOf("batch-existing").size());
+    }
+
+    @Test
+    void cancelledBooking_stillBlocksItsSlot() {
+        // The unique constraint spans every status, so a cancelled row keeps the slot until archived.
+        BookingResponse booking = bookingService.addBooking(new BookingRequest("batch-cancelled", "room-1", SLOT));
+        bookingService.cancelBooking(booking.getId());
+
+        BookingBatchResult result = bookingService.addBookings(List.of(
+                new BookingRequest("batch-cancelled", "room-1", SLOT)));
+
+        assertStatuses(result, BookingBatchItemResult.DUPLICATE);
+        List<Booking> rows = rowsOf("batch-cancelled");
+        assertEquals(1, rows.size());
+        assertEquals("CANCELLED", rows.get(0).getStatus());
+    }
+
+    @Test
+    void slotTakenAfterTheProbe_isRetriedAndReportedAsDuplicate() {
+        // Plays a concurrent create that commits between the batch's slot probe and its insert.
+        AtomicBoolean raced = new AtomicBoolean();
+        Mockito.doAnswer(invocation -> {
+            Object slots = Mockito.mockingDetails(bookingRepository).getMockCreationSettings()
+                    .getDefaultAnswer().answer(invocation);
+            if (raced.compareAndSet(false, true)) {
+                new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:bookingdb", "sa", "")).update(
+                        "INSERT INTO bookings (id, user_id, resource_id, booking_date, status, created_at, version) " +
+                                "VALUES (?, 'batch-race', 'room-1', ?, 'ACTIVE', ?, 0)",
+                        980_001L, SLOT, LocalDateTime.now());
+            }
+            return slots;
+        }).when(bookingRepository).findSlotsIn(any(), any(), any());
+
+        BookingBatchResult result = bookingService.addBookings(List.of(
+                new BookingRequest("batch-race", "room-1", SLOT),
+                new BookingRequest("batch-race", "room-2", SLOT)));
+
+        assertStatuses(result, BookingBatchItemResult.DUPLICATE, BookingBatchItemResult.CREATED);
+        assertEquals(2, rowsOf("batch-race").size());
+    }
+
+    @Test
+    void invalidItem_isReportedAndTheRestAreCreated() {
+        BookingBatchResult result = bookingService.addBookings(List.of(
+                new BookingRequest("", "room-1", SLOT),
+                new BookingRequest("batch-invalid", "room-1", null),
+                new BookingRequest("batch-invalid", "room-1", SLOT)));
+
+        assertStatuses(result, BookingBatchItemResult.INVALID, BookingBatchItemResult.INVALID,
+                BookingBatchItemResult.CREATED);
+        assertEquals(2, result.getInvalid());
+        assertEquals(1, rowsOf("batch-invalid").size());
+    }
+
+    @Test
+    void batchOverTheLimit_isRejectedWhole() {
+        List<BookingRequest> requests = List.of(
+                new BookingRequest("batch-large", "room-1", SLOT),
+                new BookingRequest("batch-large", "room-2", SLOT),
+                new BookingRequest("batch-large", "room-3", SLOT),
+                new BookingRequest("batch-large", "room-4", SLOT),
+                new BookingRequest("batch-large", "room-5", SLOT),
+                new BookingRequest("batch-large", "room-6", SLOT));
+
+        assertThrows(BatchTooLargeException.class, () -> bookingService.addBookings(requests));
+        assertTrue(rowsOf("batch-large").isEmpty());
+    }
+
+    private static void assertStatuses(BookingBatchResult result, String... expected) {
+        assertEquals(List.of(expected), result.getResults().stream().map(BookingBatchItemResult::getStatus).toList());
+    }
+
+    private List<Booking> rowsOf(String userId) {
+        return bookingRepository.findAll().stream()
+                .filter(booking -> userId.equals(booking.getUserId()))
+                .toList();
+    }
+}
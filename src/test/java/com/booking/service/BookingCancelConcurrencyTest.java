@@ -0,0 +1,166 @@
+package com.booking.service;
+
+import com.booking.dto.BookingRequest;
+import com.booking.dto.BookingResponse;
+import com.booking.entity.Booking;
+import com.booking.exception.InvalidBookingStateException;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}"
+})
+@EmbeddedKafka(partitions = 3, topics = "booking-events")
+class BookingCancelConcurrencyTest {
+
+    private static final int BOOKINGS = 20;
+    private static final int CONTENDERS = 8;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void concurrentCancelsHaveExactlyOneWinnerPerBooking() throws Exception {
+        List<BookingResponse> bookings = create("race-user", BOOKINGS);
+        AtomicInteger winners = new AtomicInteger();
+        AtomicInteger losers = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONTENDERS);
+        try {
+            for (BookingResponse booking : bookings) {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < CONTENDERS; i++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        try {
+                            bookingService.cancelBooking(booking.getId());
+                            winners.incrementAndGet();
+                        } catch (InvalidBookingStateException e) {
+                            losers.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(BOOKINGS, winners.get());
+        assertEquals(BOOKINGS * (CONTENDERS - 1), losers.get());
+        assertEquals(BOOKINGS, cancelledEvents("race-user"));
+        for (BookingResponse booking : bookings) {
+            Booking row = bookingRepository.findById(booking.getId()).orElseThrow();
+            assertEquals("CANCELLED", row.getStatus());
+            assertEquals(1L, row.getVersion());
+        }
+    }
+
+    @Test
+    void bulkCancelAndSingleCancelsNeverCancelTheSameBookingTwice() throws Exception {
+        List<BookingResponse> bookings = create("bulk-user", BOOKINGS);
+        AtomicInteger singleWins = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONTENDERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            Future<List<BookingResponse>> bulk = executor.submit(() -> {
+                start.await();
+                return bookingService.cancelUserBookings("bulk-user");
+            });
+            List<Future<?>> singles = new ArrayList<>();
+            for (BookingResponse booking : bookings) {
+                singles.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        bookingService.cancelBooking(booking.getId());
+                        singleWins.incrementAndGet();
+                    } catch (InvalidBookingStateException ignored) {
+                        // The bulk cancel got there first.
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            int bulkWins;
+            try {
+                bulkWins = bulk.get(30, TimeUnit.SECONDS).size();
+            } catch (ExecutionException e) {
+                // A bulk cancel that loses a race rolls back entirely rather than double-cancelling.
+                assertInstanceOf(OptimisticLockingFailureException.class, e.getCause());
+                bulkWins = 0;
+            }
+            for (Future<?> single : singles) {
+                single.get(30, TimeUnit.SECONDS);
+            }
+
+            assertEquals(BOOKINGS, bulkWins + singleWins.get());
+            assertEquals(BOOKINGS, cancelledEvents("bulk-user"));
+            assertTrue(bookingRepository.findByUserIdAndStatus("bulk-user", "ACTIVE").isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void cancelResourceBookingsCancelsEveryActiveRowForTheResource() {
+        LocalDateTime base = LocalDateTime.of(2031, 1, 1, 9, 0);
+        for (int i = 0; i < 5; i++) {
+            bookingService.addBooking(new BookingRequest("resource-user" + i, "bulk-room", base.plusHours(i)));
+        }
+        bookingService.addBooking(new BookingRequest("resource-user0", "other-room", base));
+
+        List<BookingResponse> cancelled = bookingService.cancelResourceBookings("bulk-room");
+
+        assertEquals(5, cancelled.size());
+        assertTrue(cancelled.stream().allMatch(b -> "CANCELLED".equals(b.getStatus())));
+        assertTrue(bookingRepository.findByResourceIdAndStatus("bulk-room", "ACTIVE").isEmpty());
+        assertEquals(1, bookingRepository.findByResourceIdAndStatus("other-room", "ACTIVE").size());
+    }
+
+    private List<BookingResponse> create(String userId, int count) {
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 9, 0);
+        List<BookingResponse> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            created.add(bookingService.addBooking(new BookingRequest(userId, "room-" + i, base.plusHours(i))));
+        }
+        return created;
+    }
+
+    private long cancelledEvents(String userId) {
+        return outboxEventRepository.findAll().stream()
+                .filter(e -> "booking.cancelled".equals(e.getEventType()))
+                .filter(e -> e.getPayload().contains("\"userId\":\"" + userId + "\""))
+                .count();
+    }
+}
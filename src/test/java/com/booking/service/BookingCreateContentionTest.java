@@ -0,0 +1,148 @@
+package com.booking.service;
+
+import com.booking.dto.BookingRequest;
+import com.booking.dto.BookingResponse;
+import com.booking.exception.DuplicateBookingException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Many clients creating the same slot at once through HTTP: exactly one wins, every
+ * other request is a 409 and none is a 500. Prints the p99 latency of the stampede.
+ * Also covers slot holds against plain creates.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "booking.rate-limit.enabled=false",
+        "booking.concurrency-limit.enabled=false"
+})
+@EmbeddedKafka(partitions = 3, topics = "booking-events")
+class BookingCreateContentionTest {
+
+    private static final int THREADS = 64;
+    private static final int ROUNDS = 10;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SlotHoldService slotHoldService;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    void stampedeOnOneSlotHasOneWinnerAndNoServerErrors() throws Exception {
+        Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        List<Long> latencies = new ArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                String body = json("stampede-user", "hot-room", LocalDateTime.of(2032, 1, 1, 9, 0).plusHours(round));
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<long[]>> futures = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        long begin = System.nanoTime();
+                        int status = post(body);
+                        return new long[] {status, System.nanoTime() - begin};
+                    }));
+                }
+                start.countDown();
+                int created = 0;
+                for (Future<long[]> future : futures) {
+                    long[] result = future.get(60, TimeUnit.SECONDS);
+                    statuses.computeIfAbsent((int) result[0], s -> new AtomicInteger()).incrementAndGet();
+                    latencies.add(result[1]);
+                    created += result[0] == 201 ? 1 : 0;
+                }
+                assertEquals(1, created, "round " + round);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        latencies.sort(null);
+        long p99 = latencies.get((int) Math.ceil(latencies.size() * 0.99) - 1);
+        System.out.printf("create stampede: %d threads x %d rounds, statuses %s, p50 %.2f ms, p99 %.2f ms%n",
+                THREADS, ROUNDS, statuses, latencies.get(latencies.size() / 2) / 1e6, p99 / 1e6);
+        assertTrue(statuses.keySet().stream().noneMatch(status -> status >= 500), statuses::toString);
+        assertEquals(ROUNDS, count(statuses, 201), statuses::toString);
+        assertEquals(ROUNDS * (THREADS - 1), count(statuses, 409), statuses::toString);
+    }
+
+    @Test
+    void recreatingACancelledSlotIsAConflictNotAServerError() throws Exception {
+        LocalDateTime slot = LocalDateTime.of(2032, 2, 1, 9, 0);
+        BookingResponse booking = bookingService.addBooking(new BookingRequest("recreate-user", "room-9", slot));
+        bookingService.cancelBooking(booking.getId());
+
+        // The cancelled row keeps the unique slot until it is archived.
+        assertEquals(409, post(json("recreate-user", "room-9", slot)));
+    }
+
+    @Test
+    void heldSlotCannotBeBookedByAnotherUser() throws Exception {
+        LocalDateTime slot = LocalDateTime.of(2032, 3, 1, 9, 0);
+        slotHoldService.hold(new BookingRequest("holder", "room-7", slot), null);
+
+        assertEquals(409, post(json("other-user", "room-7", slot)));
+    }
+
+    @Test
+    void bookedSlotCannotBeHeld() {
+        LocalDateTime slot = LocalDateTime.of(2032, 3, 2, 9, 0);
+        bookingService.addBooking(new BookingRequest("booker", "room-8", slot));
+
+        assertThrows(DuplicateBookingException.class,
+                () -> slotHoldService.hold(new BookingRequest("holder", "room-8", slot), null));
+    }
+
+    private int post(String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/bookings/add"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static String json(String userId, String resourceId, LocalDateTime bookingDate) {
+        return """
+                {"userId": "%s", "resourceId": "%s", "bookingDate": "%s"}
+                """.formatted(userId, resourceId, bookingDate.format(DATE_TIME));
+    }
+
+    private static int count(Map<Integer, AtomicInteger> statuses, int status) {
+        AtomicInteger count = statuses.get(status);
+        return count == null ? 0 : count.get();
+    }
+}
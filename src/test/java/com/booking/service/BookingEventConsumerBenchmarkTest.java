@@ -0,0 +1,95 @@
+package com.booking.service;
+
+import com.booking.dto.BookingResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Read-model apply throughput of the consumer as key parallelism grows, with polls of
+ * {@value #BATCH_SIZE} records over {@value #KEYS} resource keys written to H2.
+ * Run with {@code ./gradlew benchmark}; excluded from the regular test task.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import(BookingReadModelWriter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingEventConsumerBenchmarkTest {
+
+    private static final int RECORDS = 100_000;
+    private static final int BATCH_SIZE = 500;
+    private static final int KEYS = 10_000;
+    private static final int[] KEY_PARALLELISM = {1, 2, 4, 8};
+
+    @Autowired
+    private BookingReadModelWriter writer;
+
+    private long nextOffset;
+
+    @Test
+    void eventsPerSecond_byKeyParallelism() {
+        run(4, 10_000);
+
+        double baseline = 0;
+        for (int lanes : KEY_PARALLELISM) {
+            double rate = run(lanes, RECORDS);
+            if (baseline == 0) {
+                baseline = rate;
+            }
+            System.out.printf("consumer apply: key-parallelism %d %.0f events/s (%.2fx)%n",
+                    lanes, rate, rate / baseline);
+        }
+    }
+
+    private double run(int lanes, int records) {
+        BookingEventConsumer consumer = new BookingEventConsumer(new SimpleMeterRegistry(), lanes, Duration.ZERO);
+        ReflectionTestUtils.setField(consumer, "readModelWriter", writer);
+        Acknowledgment ack = new Acknowledgment() {
+            @Override
+            public void acknowledge() {
+            }
+
+            @Override
+            public void nack(int index, Duration sleep) {
+                fail("lane failed at record " + index);
+            }
+        };
+        try {
+            long start = System.nanoTime();
+            for (int from = 0; from < records; from += BATCH_SIZE) {
+                consumer.handleBookingEvents(poll(Math.min(BATCH_SIZE, records - from)), ack);
+            }
+            return records / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            consumer.shutdown();
+        }
+    }
+
+    private List<ConsumerRecord<String, BookingResponse>> poll(int size) {
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 0, 0);
+        List<ConsumerRecord<String, BookingResponse>> batch = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long offset = nextOffset++;
+            String resourceId = "res-" + (offset % KEYS);
+            BookingResponse event = new BookingResponse(offset + 1, "user-" + (offset % 500), resourceId,
+                    base.plusMinutes(offset), "ACTIVE", base);
+            batch.add(new ConsumerRecord<>(BookingEventPublisher.BOOKING_TOPIC, 0, offset, resourceId, event));
+        }
+        return batch;
+    }
+}
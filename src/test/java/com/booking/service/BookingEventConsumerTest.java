@@ -0,0 +1,142 @@
+package com.booking.service;
+
+import com.booking.dto.BookingResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class BookingEventConsumerTest {
+
+    private static final int LANES = 4;
+    private static final Duration BACKOFF = Duration.ofMillis(10);
+
+    private final BookingReadModelWriter writer = mock(BookingReadModelWriter.class);
+    private final Acknowledgment ack = mock(Acknowledgment.class);
+    private final BookingEventConsumer consumer = new BookingEventConsumer(new SimpleMeterRegistry(), LANES, BACKOFF);
+
+    BookingEventConsumerTest() {
+        ReflectionTestUtils.setField(consumer, "readModelWriter", writer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        consumer.shutdown();
+    }
+
+    @Test
+    void eachKeyIsAppliedInOffsetOrderWithinOneWrite() {
+        List<List<BookingResponse>> writes = new CopyOnWriteArrayList<>();
+        when(writer.apply(anyCollection())).thenAnswer(invocation -> {
+            writes.add(new ArrayList<>(invocation.<Collection<BookingResponse>>getArgument(0)));
+            return 0;
+        });
+        List<ConsumerRecord<String, BookingResponse>> records = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            records.add(record(i, "res-" + (i % 20)));
+        }
+
+        consumer.handleBookingEvents(records, ack);
+
+        verify(ack).acknowledge();
+        assertTrue(writes.size() > 1 && writes.size() <= LANES, () -> writes.size() + " writes");
+        Map<String, Integer> writeOfKey = new HashMap<>();
+        for (int w = 0; w < writes.size(); w++) {
+            long previous = -1;
+            for (BookingResponse event : writes.get(w)) {
+                Integer first = writeOfKey.putIfAbsent(event.getResourceId(), w);
+                assertTrue(first == null || first == w, () -> event.getResourceId() + " split across writes");
+                assertTrue(previous < event.getId(), "offset order within a write");
+                previous = event.getId();
+            }
+        }
+        assertEquals(20, writeOfKey.size());
+    }
+
+    @Test
+    void failedLaneCommitsOnlyTheContiguousPrefix() {
+        when(writer.apply(anyCollection())).thenAnswer(invocation -> {
+            Collection<BookingResponse> events = invocation.getArgument(0);
+            if (events.stream().anyMatch(event -> "bad".equals(event.getResourceId()))) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return events.size();
+        });
+        List<ConsumerRecord<String, BookingResponse>> records = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            records.add(record(i, i == 17 || i == 30 ? "bad" : "res-" + (i % 8)));
+        }
+        int badLane = lane("bad");
+        int expected = 0;
+        while (lane(records.get(expected).key()) != badLane) {
+            expected++;
+        }
+
+        consumer.handleBookingEvents(records, ack);
+
+        verify(ack).nack(expected, BACKOFF);
+        verify(ack, never()).acknowledge();
+        long busyLanes = records.stream().map(record -> lane(record.key())).distinct().count();
+        verify(writer, times((int) busyLanes)).apply(anyCollection());
+    }
+
+    @Test
+    void singleLaneBatchIsAppliedOnTheListenerThread() {
+        Thread listener = Thread.currentThread();
+        when(writer.apply(anyCollection())).thenAnswer(invocation -> {
+            assertSame(listener, Thread.currentThread());
+            return 1;
+        });
+
+        consumer.handleBookingEvents(List.of(record(1, "res-1"), record(2, "res-1")), ack);
+
+        verify(writer, times(1)).apply(anyCollection());
+        verify(ack).acknowledge();
+        verify(ack, never()).nack(anyInt(), any(Duration.class));
+    }
+
+    @Test
+    void unreadableRecordIsSkippedAndTheRestApplied() {
+        List<BookingResponse> applied = new CopyOnWriteArrayList<>();
+        when(writer.apply(anyCollection())).thenAnswer(invocation -> {
+            applied.addAll(invocation.<Collection<BookingResponse>>getArgument(0));
+            return 1;
+        });
+        ConsumerRecord<String, BookingResponse> unreadable =
+                new ConsumerRecord<>(BookingEventPublisher.BOOKING_TOPIC, 0, 1, "res-1", null);
+        unreadable.headers().add(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, new byte[0]);
+
+        consumer.handleBookingEvents(List.of(record(0, "res-1"), unreadable, record(2, "res-1")), ack);
+
+        assertEquals(List.of(0L, 2L), applied.stream().map(BookingResponse::getId).toList());
+        verify(ack).acknowledge();
+    }
+
+    private static int lane(String key) {
+        return Math.floorMod(key.hashCode(), LANES);
+    }
+
+    private static ConsumerRecord<String, BookingResponse> record(long offset, String resourceId) {
+        BookingResponse event = new BookingResponse(offset, "user-" + offset, resourceId,
+                LocalDateTime.of(2030, 1, 1, 9, 0).plusMinutes(offset), "ACTIVE", LocalDateTime.of(2029, 12, 1, 8, 0));
+        return new ConsumerRecord<>(BookingEventPublisher.BOOKING_TOPIC, 0, offset, resourceId, event);
+    }
+}
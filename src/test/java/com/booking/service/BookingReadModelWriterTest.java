@@ -0,0 +1,49 @@
+package com.booking.service;
+
+import com.booking.dto.BookingResponse;
+import com.booking.entity.BookingView;
+import com.booking.repository.BookingViewRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(BookingReadModelWriter.class)
+class BookingReadModelWriterTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 6, 1, 10, 0);
+
+    @Autowired
+    private BookingReadModelWriter writer;
+
+    @Autowired
+    private BookingViewRepository bookingViewRepository;
+
+    @Test
+    void apply_upsertsActiveBookingsIntoUserAndResourceViews() {
+        writer.apply(List.of(event(1L, "user1", "res1", "ACTIVE"), event(2L, "user1", "res2", "ACTIVE")));
+
+        assertEquals(2, bookingViewRepository.findByUserIdAndStatusOrderByBookingDateDesc("user1", "ACTIVE").size());
+        assertEquals(1, bookingViewRepository.findByResourceIdAndStatusOrderByBookingDateDesc("res2", "ACTIVE").size());
+    }
+
+    @Test
+    void apply_cancelledIsTerminalEvenWhenCreatedArrivesLate() {
+        writer.apply(List.of(event(3L, "user2", "res1", "ACTIVE"), event(3L, "user2", "res1", "CANCELLED")));
+        writer.apply(List.of(event(3L, "user2", "res1", "ACTIVE")));
+
+        BookingView view = bookingViewRepository.findById(3L).orElseThrow();
+        assertEquals("CANCELLED", view.getStatus());
+        assertTrue(bookingViewRepository.findByUserIdAndStatusOrderByBookingDateDesc("user2", "ACTIVE").isEmpty());
+    }
+
+    private BookingResponse event(Long id, String userId, String resourceId, String status) {
+        return new BookingResponse(id, userId, resourceId, DATE.plusHours(id), status, DATE);
+    }
+}
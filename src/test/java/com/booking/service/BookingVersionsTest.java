@@ -0,0 +1,32 @@
+package com.booking.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingVersionsTest {
+
+    @Test
+    void tagsMoveWithTheUsersChanges() {
+        BookingVersions versions = new BookingVersions(100, true);
+        String global = versions.globalTag();
+        String alice = versions.userTag("alice");
+
+        versions.bump("bob");
+
+        assertNotEquals(global, versions.globalTag());
+        assertEquals(alice, versions.userTag("alice"));
+        versions.bump("alice");
+        assertNotEquals(alice, versions.userTag("alice"));
+    }
+
+    @Test
+    void withoutRemoteInvalidation_noTagsAreHandedOut() {
+        BookingVersions versions = new BookingVersions(100, false);
+
+        versions.bump("alice");
+
+        assertNull(versions.globalTag());
+        assertNull(versions.userTag("alice"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.booking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK = Duration.ofMillis(100).toNanos();
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private final List<String> fired = new ArrayList<>();
+    private final HashedTimingWheel<String> wheel =
+            new HashedTimingWheel<>(Duration.ofMillis(100), 8, clock::get, fired::add);
+
+    @Test
+    void timeoutFiresOnItsTickAndNeverEarly() {
+        wheel.schedule("a", Duration.ofMillis(250));
+
+        clock.addAndGet(2 * TICK);
+        assertEquals(0, wheel.advance());
+        clock.addAndGet(TICK);
+        assertEquals(1, wheel.advance());
+        assertEquals(List.of("a"), fired);
+    }
+
+    @Test
+    void timeoutsBeyondOneLapWaitForTheirRound() {
+        wheel.schedule("later", Duration.ofMillis(1_000));
+        wheel.schedule("sooner", Duration.ofMillis(200));
+
+        for (int i = 0; i < 9; i++) {
+            clock.addAndGet(TICK);
+            wheel.advance();
+        }
+        assertEquals(List.of("sooner"), fired);
+
+        clock.addAndGet(TICK);
+        wheel.advance();
+        assertEquals(List.of("sooner", "later"), fired);
+    }
+
+    @Test
+    void cancelledTimeoutNeverFires() {
+        wheel.schedule("kept", Duration.ofMillis(100));
+        wheel.schedule("dropped", Duration.ofMillis(100)).cancel();
+
+        clock.addAndGet(TICK);
+        wheel.advance();
+
+        assertEquals(List.of("kept"), fired);
+    }
+
+    @Test
+    void longPauseFiresEverythingOverdue() {
+        wheel.schedule("a", Duration.ofMillis(300));
+        wheel.schedule("b", Duration.ofMillis(1_500));
+        wheel.schedule("c", Duration.ofMillis(5_000));
+
+        clock.addAndGet(20 * TICK);
+
+        assertEquals(2, wheel.advance());
+        assertTrue(fired.containsAll(List.of("a", "b")));
+        clock.addAndGet(30 * TICK);
+        assertEquals(1, wheel.advance());
+    }
+}
@@ -0,0 +1,182 @@
+package com.booking.service;
+
+import com.booking.dto.BookingRequest;
+import com.booking.dto.BookingResponse;
+import com.booking.entity.OutboxEvent;
+import com.booking.event.BookingEventDeserializer;
+import com.booking.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "booking.outbox.poll-interval=PT0.05S",
+        "booking.outbox.max-attempts=3"
+})
+@EmbeddedKafka(partitions = 3, topics = "booking-events")
+class OutboxRelayTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void committedBookingIsRelayedAndMarkedSent() throws Exception {
+        BookingResponse created = bookingService.addBooking(
+                new BookingRequest("outbox-user", "res1", LocalDateTime.of(2031, 1, 1, 9, 0)));
+
+        Map<String, Object> props = KafkaTestUtils.consumerProps("outbox-test", "false", embeddedKafka);
+        props.put("auto.offset.reset", "earliest");
+        try (Consumer<String, BookingResponse> consumer = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new BookingEventDeserializer()).createConsumer()) {
+            embeddedKafka.consumeFromAnEmbeddedTopic(consumer, BookingEventPublisher.BOOKING_TOPIC);
+            List<ConsumerRecord<String, BookingResponse>> received = new ArrayList<>();
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (received.stream().noneMatch(r -> "outbox-user".equals(r.value().getUserId()))
+                    && System.currentTimeMillis() < deadline) {
+                KafkaTestUtils.getRecords(consumer, Duration.ofMillis(500)).forEach(received::add);
+            }
+            ConsumerRecord<String, BookingResponse> record = received.stream()
+                    .filter(r -> created.getId().equals(r.value().getId()))
+                    .findFirst().orElseThrow();
+            assertEquals(created.getResourceId(), record.key());
+            assertEquals("booking.created", new String(
+                    record.headers().lastHeader(BookingEventPublisher.EVENT_TYPE_HEADER).value(), StandardCharsets.UTF_8));
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (outboxEventRepository.countBySentAtIsNull() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, outboxEventRepository.countBySentAtIsNull());
+    }
+
+    @Test
+    void rolledBackBookingLeavesNoOutboxEvent() {
+        long before = outboxEventRepository.count();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            bookingService.addBooking(new BookingRequest("rollback-user", "res1", LocalDateTime.of(2031, 2, 1, 9, 0)));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(before, outboxEventRepository.count());
+    }
+
+    @Test
+    void eventClaimedByAnotherRelayIsSkippedUntilTheClaimRunsOut() throws Exception {
+        OutboxEvent event = event("claimed-user");
+        event.setClaimToken("other-relay");
+        event.setClaimedUntil(LocalDateTime.now().plusHours(1));
+        Long id = outboxEventRepository.save(event).getId();
+
+        Thread.sleep(500);
+        event = outboxEventRepository.findById(id).orElseThrow();
+        assertNull(event.getSentAt());
+        assertEquals("other-relay", event.getClaimToken());
+
+        event.setClaimedUntil(LocalDateTime.now().minusSeconds(1));
+        outboxEventRepository.save(event);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (outboxEventRepository.findById(id).orElseThrow().getSentAt() == null
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertNotNull(outboxEventRepository.findById(id).orElseThrow().getSentAt());
+    }
+
+    @Test
+    void eventOutOfAttemptsIsLeftAsADeadLetter() throws Exception {
+        OutboxEvent event = event("dead-user");
+        event.setAttempts(3);
+        Long id = outboxEventRepository.save(event).getId();
+        try {
+            Thread.sleep(500);
+
+            event = outboxEventRepository.findById(id).orElseThrow();
+            assertNull(event.getSentAt());
+            assertEquals(3, event.getAttempts());
+            assertNull(event.getClaimToken());
+            assertTrue(meterRegistry.get("booking.outbox.dead").gauge().value() >= 1);
+        } finally {
+            outboxEventRepository.deleteById(id);
+        }
+    }
+
+    @Test
+    void failedSendHoldsBackTheLaterEventsOfItsKey() throws Exception {
+        OutboxEvent before = event("order-user", "order-res");
+        OutboxEvent broken = event("order-user", "order-res");
+        broken.setPayload("not a booking");
+        OutboxEvent after = event("order-user", "order-res");
+        OutboxEvent otherKey = event("order-user", "order-other");
+        List<OutboxEvent> saved = new TransactionTemplate(transactionManager).execute(status ->
+                outboxEventRepository.saveAll(List.of(before, broken, after, otherKey)));
+        try {
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (sentAt(saved.get(2)) == null && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertNotNull(sentAt(saved.get(2)));
+            // The later event was only marked sent once the broken one had been given up on.
+            OutboxEvent dead = outboxEventRepository.findById(saved.get(1).getId()).orElseThrow();
+            assertNull(dead.getSentAt());
+            assertEquals(3, dead.getAttempts());
+            assertNotNull(sentAt(saved.get(0)));
+            assertNotNull(sentAt(saved.get(3)));
+        } finally {
+            outboxEventRepository.deleteAllById(saved.stream().map(OutboxEvent::getId).toList());
+        }
+    }
+
+    private LocalDateTime sentAt(OutboxEvent event) {
+        return outboxEventRepository.findById(event.getId()).orElseThrow().getSentAt();
+    }
+
+    private OutboxEvent event(String userId) throws Exception {
+        return event(userId, "res1");
+    }
+
+    private OutboxEvent event(String userId, String resourceId) throws Exception {
+        BookingResponse payload = new BookingResponse(System.nanoTime(), userId, resourceId,
+                LocalDateTime.of(2031, 3, 1, 9, 0), "ACTIVE", LocalDateTime.now());
+        return new OutboxEvent(BookingEventPublisher.BOOKING_TOPIC, resourceId, "booking.created",
+                objectMapper.writeValueAsString(payload));
+    }
+}
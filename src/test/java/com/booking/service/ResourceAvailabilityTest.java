@@ -0,0 +1,178 @@
+package com.booking.service;
+
+import com.booking.exception.AvailabilityNotReadyException;
+import com.booking.exception.InvalidAvailabilityQueryException;
+import com.booking.repository.BookingRepository;
+import com.booking.sharding.BookingShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceAvailabilityTest {
+
+    private static final LocalDateTime DAY = LocalDate.now().plusDays(7).atStartOfDay();
+    private static final Duration HALF_HOUR = Duration.ofMinutes(30);
+
+    private BookingRepository bookingRepository;
+    private ResourceAvailability availability;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = Mockito.mock(BookingRepository.class);
+        Mockito.when(bookingRepository.streamActiveSlots())
+                .thenAnswer(invocation -> Stream.<Object[]>of(new Object[]{"user1", "res1", DAY.plusHours(10)}));
+        availability = new ResourceAvailability(Duration.ofMinutes(15), HALF_HOUR, Duration.ofDays(62));
+        ReflectionTestUtils.setField(availability, "bookingRepository", bookingRepository);
+        ReflectionTestUtils.setField(availability, "bookingShards", BookingShards.unsharded());
+    }
+
+    @Test
+    void beforeRebuild_searchIsRejected() {
+        assertThrows(AvailabilityNotReadyException.class,
+                () -> availability.freeSlots("res1", DAY, DAY.plusDays(1), HALF_HOUR));
+    }
+
+    @Test
+    void rebuild_bookingTakesItsLength() {
+        availability.rebuild();
+
+        assertEquals(List.of(DAY.plusHours(9), DAY.plusMinutes(9 * 60 + 30), DAY.plusMinutes(10 * 60 + 30)),
+                availability.freeSlots("res1", DAY.plusHours(9), DAY.plusHours(11), HALF_HOUR));
+        assertEquals(4, availability.freeSlots("res2", DAY.plusHours(9), DAY.plusHours(11), HALF_HOUR).size());
+    }
+
+    @Test
+    void bookingOffTheGrid_blocksEveryCellItTouches() {
+        availability.rebuild();
+        availability.onBooked("user2", "res2", DAY.plusMinutes(10 * 60 + 10));
+
+        assertEquals(List.of(DAY.plusHours(9), DAY.plusHours(11)),
+                availability.freeSlots("res2", DAY.plusHours(9), DAY.plusHours(12), Duration.ofHours(1)));
+    }
+
+    @Test
+    void sharedCell_staysTakenUntilLastBookingIsCancelled() {
+        availability.rebuild();
+        availability.onBooked("user2", "res1", DAY.plusHours(10));
+
+        availability.onCancelled("user2", "res1", DAY.plusHours(10));
+        assertFalse(availability.freeSlots("res1", DAY.plusHours(10), DAY.plusHours(11), HALF_HOUR)
+                .contains(DAY.plusHours(10)));
+
+        availability.onCancelled("user1", "res1", DAY.plusHours(10));
+        assertTrue(availability.freeSlots("res1", DAY.plusHours(10), DAY.plusHours(11), HALF_HOUR)
+                .contains(DAY.plusHours(10)));
+    }
+
+    @Test
+    void bookingsAcrossMidnightAndFarApart_areKept() {
+        availability.rebuild();
+        availability.onBooked("user1", "res1", DAY.plusDays(40).plusMinutes(23 * 60 + 45));
+        availability.onBooked("user1", "res1", DAY.minusDays(3).plusHours(8));
+
+        assertEquals(List.of(DAY.plusDays(40).plusHours(23)),
+                availability.freeSlots("res1", DAY.plusDays(40).plusHours(23), DAY.plusDays(41).plusMinutes(30),
+                        Duration.ofMinutes(45)));
+        assertEquals(List.of(DAY.minusDays(3).plusHours(7)),
+                availability.freeSlots("res1", DAY.minusDays(3).plusHours(7), DAY.minusDays(3).plusHours(9),
+                        Duration.ofHours(1)));
+        assertFalse(availability.freeSlots("res1", DAY, DAY.plusDays(1), HALF_HOUR).contains(DAY.plusHours(10)));
+    }
+
+    @Test
+    void changesDuringRebuild_areReplayedOntoTheNewIndex() {
+        availability.rebuild();
+        Mockito.when(bookingRepository.streamActiveSlots()).thenAnswer(invocation -> {
+            availability.onBooked("user3", "res3", DAY.plusHours(9));
+            return Stream.<Object[]>of(new Object[]{"user1", "res1", DAY.plusHours(10)});
+        });
+
+        availability.rebuild();
+
+        assertEquals(List.of(DAY.plusMinutes(9 * 60 + 30)),
+                availability.freeSlots("res3", DAY.plusHours(9), DAY.plusHours(10), HALF_HOUR));
+    }
+
+    @Test
+    void replayedCancellationOfABookingNeverRead_leavesOtherBookingsInPlace() {
+        Mockito.when(bookingRepository.streamActiveSlots()).thenAnswer(invocation -> {
+            // user9's booking was cancelled before the rebuild read the table.
+            availability.onCancelled("user9", "res1", DAY.plusHours(10));
+            return Stream.<Object[]>of(new Object[]{"user1", "res1", DAY.plusHours(10)});
+        });
+
+        availability.rebuild();
+
+        assertFalse(availability.freeSlots("res1", DAY.plusHours(10), DAY.plusHours(11), HALF_HOUR)
+                .contains(DAY.plusHours(10)));
+    }
+
+    @Test
+    void bookingReadAndReplayed_isCountedOnce() {
+        Mockito.when(bookingRepository.streamActiveSlots()).thenAnswer(invocation -> {
+            availability.onBooked("user1", "res1", DAY.plusHours(10));
+            return Stream.<Object[]>of(new Object[]{"user1", "res1", DAY.plusHours(10)});
+        });
+        availability.rebuild();
+
+        availability.onCancelled("user1", "res1", DAY.plusHours(10));
+
+        assertTrue(availability.freeSlots("res1", DAY.plusHours(10), DAY.plusHours(11), HALF_HOUR)
+                .contains(DAY.plusHours(10)));
+    }
+
+    @Test
+    void repeatedChanges_areAppliedOnce() {
+        availability.rebuild();
+        LocalDateTime ten = DAY.plusHours(10);
+        ResourceAvailability.Change booked = new ResourceAvailability.Change("user2", "res1", ten, true);
+        ResourceAvailability.Change cancelled = new ResourceAvailability.Change("user2", "res1", ten, false);
+
+        availability.apply(booked);
+        availability.apply(booked);
+        availability.apply(cancelled);
+        availability.apply(cancelled);
+
+        // user1's booking from the rebuild still holds the slot.
+        assertFalse(availability.freeSlots("res1", DAY.plusHours(10), DAY.plusHours(11), HALF_HOUR)
+                .contains(DAY.plusHours(10)));
+    }
+
+    @Test
+    void fromIsRoundedUpToTheGrid() {
+        availability.rebuild();
+
+        assertEquals(DAY.plusMinutes(15),
+                availability.freeSlots("res2", DAY.plusMinutes(1), DAY.plusHours(1), Duration.ofMinutes(15)).get(0));
+    }
+
+    @Test
+    void invalidQueries_areRejected() {
+        availability.rebuild();
+
+        assertThrows(InvalidAvailabilityQueryException.class,
+                () -> availability.freeSlots("res1", DAY, DAY.plusDays(1), Duration.ofMinutes(20)));
+        assertThrows(InvalidAvailabilityQueryException.class,
+                () -> availability.freeSlots("res1", DAY, DAY.plusDays(63), HALF_HOUR));
+        assertThrows(InvalidAvailabilityQueryException.class,
+                () -> availability.freeSlots("res1", DAY, DAY, HALF_HOUR));
+    }
+
+    @Test
+    void isClear_checksAcrossWordBoundaries() {
+        long[] bits = {0, 1L << 3};
+
+        assertTrue(ResourceAvailability.isClear(bits, 0, 64));
+        assertTrue(ResourceAvailability.isClear(bits, 60, 67));
+        assertFalse(ResourceAvailability.isClear(bits, 60, 68));
+    }
+}
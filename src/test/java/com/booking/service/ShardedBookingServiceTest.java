@@ -0,0 +1,180 @@
+package com.booking.service;
+
+import com.booking.dto.BookingBatchItemResult;
+import com.booking.dto.BookingBatchResult;
+import com.booking.dto.BookingFilter;
+import com.booking.dto.BookingPage;
+import com.booking.dto.BookingRequest;
+import com.booking.dto.BookingResponse;
+import com.booking.exception.BookingNotFoundException;
+import com.booking.sharding.BookingShards;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "booking.sharding.enabled=true",
+        "booking.sharding.shards[0].url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1",
+        "booking.sharding.shards[0].username=sa",
+        "booking.sharding.shards[1].url=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1",
+        "booking.sharding.shards[1].username=sa",
+        "booking.sharding.shards[2].url=jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1",
+        "booking.sharding.shards[2].username=sa"
+})
+@EmbeddedKafka(partitions = 3, topics = "booking-events")
+class ShardedBookingServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2032, 1, 1, 9, 0);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingShards bookingShards;
+
+    @Test
+    void bookingIsStoredOnItsResourceShardAndIdCarriesTheShard() {
+        assertEquals(3, bookingShards.count());
+        for (int i = 0; i < 12; i++) {
+            String resourceId = "placement-res-" + i;
+            BookingResponse created = bookingService.addBooking(new BookingRequest("placement-user", resourceId, BASE));
+            int shard = bookingShards.forResource(resourceId);
+
+            assertEquals(shard, created.getId() & (BookingShards.MAX_SHARDS - 1));
+            for (int other = 0; other < bookingShards.count(); other++) {
+                assertEquals(other == shard ? 1 : 0, countOnShard(other, created.getId()),
+                        "booking " + created.getId() + " on shard " + other);
+            }
+        }
+    }
+
+    @Test
+    void cancelReachesTheBookingsShard() {
+        List<BookingResponse> created = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            created.add(bookingService.addBooking(new BookingRequest("cancel-user", "cancel-res-" + i, BASE)));
+        }
+
+        for (BookingResponse booking : created) {
+            assertEquals("CANCELLED", bookingService.cancelBooking(booking.getId()).getStatus());
+        }
+        assertTrue(bookingService.getUserBookings("cancel-user").isEmpty());
+    }
+
+    @Test
+    void cancelOfAnIdNamingNoShard_isNotFound() {
+        long id = BookingShards.encodeId(12_345, BookingShards.MAX_SHARDS - 1);
+
+        assertThrows(BookingNotFoundException.class, () -> bookingService.cancelBooking(id));
+    }
+
+    @Test
+    void batchReportsTheItemsOfAFailedShardAndKeepsTheCommittedOnes() {
+        String first = "batch-fail-res-0";
+        String second = first;
+        for (int i = 1; bookingShards.forResource(second) == bookingShards.forResource(first); i++) {
+            second = "batch-fail-res-" + i;
+        }
+        int failing = bookingShards.forResource(second);
+        JdbcTemplate failingShard = shard(failing);
+        failingShard.execute("ALTER TABLE bookings ADD CONSTRAINT ck_batch_fail CHECK (user_id <> 'batch-fail-user')");
+        try {
+            BookingBatchResult result = bookingService.addBookings(List.of(
+                    new BookingRequest("batch-fail-user", first, BASE),
+                    new BookingRequest("batch-fail-user", second, BASE)));
+
+            assertEquals(BookingBatchItemResult.CREATED, result.getResults().get(0).getStatus());
+            assertEquals(BookingBatchItemResult.FAILED, result.getResults().get(1).getStatus());
+            assertEquals(1, result.getCreated());
+            assertEquals(1, result.getFailed());
+            assertEquals(1, countOnShard(bookingShards.forResource(first),
+                    result.getResults().get(0).getBooking().getId()));
+            assertEquals(0, failingShard.queryForObject(
+                    "SELECT COUNT(*) FROM bookings WHERE user_id = 'batch-fail-user'", Integer.class));
+        } finally {
+            failingShard.execute("ALTER TABLE bookings DROP CONSTRAINT ck_batch_fail");
+        }
+    }
+
+    @Test
+    void readsMergeEveryShardNewestFirst() {
+        for (int i = 0; i < 9; i++) {
+            bookingService.addBooking(new BookingRequest("merge-user", "merge-res-" + i, BASE.plusHours(i)));
+        }
+        assertTrue(shardsUsed("merge-res-", 9) > 1);
+
+        List<BookingResponse> mine = bookingService.getUserBookings("merge-user");
+        assertEquals(9, mine.size());
+        for (int i = 1; i < mine.size(); i++) {
+            assertFalse(mine.get(i).getBookingDate().isAfter(mine.get(i - 1).getBookingDate()));
+        }
+
+        List<BookingResponse> all = bookingService.getAllActiveBookings().stream()
+                .filter(booking -> booking.getUserId().equals("merge-user"))
+                .toList();
+        assertEquals(9, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertFalse(all.get(i).getBookingDate().isAfter(all.get(i - 1).getBookingDate()));
+        }
+    }
+
+    @Test
+    void pagesWalkEveryShardWithoutDuplicates() {
+        for (int i = 0; i < 25; i++) {
+            bookingService.addBooking(new BookingRequest("page-user", "page-res-" + (i % 7), BASE.plusMinutes(i % 5)));
+        }
+
+        BookingFilter filter = new BookingFilter();
+        filter.setUserId("page-user");
+        Set<Long> seen = new HashSet<>();
+        List<BookingResponse> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            BookingPage page = bookingService.getBookingPage(filter, cursor, 4);
+            for (BookingResponse booking : page.getItems()) {
+                assertTrue(seen.add(booking.getId()), "duplicate " + booking.getId());
+                walked.add(booking);
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(25, walked.size());
+        for (int i = 1; i < walked.size(); i++) {
+            BookingResponse previous = walked.get(i - 1);
+            BookingResponse current = walked.get(i);
+            assertTrue(current.getBookingDate().isBefore(previous.getBookingDate())
+                    || current.getBookingDate().equals(previous.getBookingDate())
+                    && current.getId() > previous.getId());
+        }
+    }
+
+    private long shardsUsed(String prefix, int resources) {
+        Set<Integer> shards = new HashSet<>();
+        for (int i = 0; i < resources; i++) {
+            shards.add(bookingShards.forResource(prefix + i));
+        }
+        return shards.size();
+    }
+
+    private static int countOnShard(int shard, long bookingId) {
+        return shard(shard).queryForObject("SELECT COUNT(*) FROM bookings WHERE id = ?", Integer.class, bookingId);
+    }
+
+    private static JdbcTemplate shard(int shard) {
+        return new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:shard" + shard + ";DB_CLOSE_DELAY=-1", "sa", ""));
+    }
+}
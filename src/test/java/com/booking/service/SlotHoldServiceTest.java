@@ -0,0 +1,139 @@
+package com.booking.service;
+
+import com.booking.dto.BookingRequest;
+import com.booking.dto.BookingResponse;
+import com.booking.dto.SlotHoldResponse;
+import com.booking.exception.DuplicateBookingException;
+import com.booking.exception.HoldNotFoundException;
+import com.booking.exception.SlotHeldException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SlotHoldServiceTest {
+
+    private static final LocalDateTime SLOT = LocalDateTime.of(2030, 6, 1, 10, 0);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BookingService bookingService = mock(BookingService.class);
+    private final SlotHoldService holds = new SlotHoldService(meterRegistry, Duration.ofSeconds(30),
+            Duration.ofMinutes(5), Duration.ofMillis(100), 64, clock::get);
+
+    SlotHoldServiceTest() {
+        ReflectionTestUtils.setField(holds, "bookingService", bookingService);
+    }
+
+    @Test
+    void secondHoldOnALiveSlotIsRejectedWithoutTheDatabase() {
+        holds.hold(new BookingRequest("alice", "room-1", SLOT), null);
+
+        assertThrows(SlotHeldException.class, () -> holds.hold(new BookingRequest("bob", "room-1", SLOT), null));
+        holds.hold(new BookingRequest("bob", "room-1", SLOT.plusHours(1)), null);
+
+        verify(bookingService, times(2)).isSlotBooked(any(), any());
+        assertEquals(1, meterRegistry.get("booking.holds").tag("outcome", "contended").counter().count());
+    }
+
+    @Test
+    void slotWithAnActiveBookingIsNotHeld() {
+        when(bookingService.isSlotBooked("room-1", SLOT)).thenReturn(true);
+
+        assertThrows(DuplicateBookingException.class,
+                () -> holds.hold(new BookingRequest("alice", "room-1", SLOT), null));
+
+        assertFalse(holds.isHeldByOther("bob", "room-1", SLOT));
+        assertEquals(0, meterRegistry.get("booking.holds.active").gauge().value());
+    }
+
+    @Test
+    void heldSlotIsClosedToOtherUsersUntilTheHoldIsOverdue() {
+        holds.hold(new BookingRequest("alice", "room-1", SLOT), Duration.ofSeconds(1));
+
+        holds.checkNotHeldByOther("alice", "room-1", SLOT);
+        holds.checkNotHeldByOther("bob", "room-1", SLOT.plusHours(1));
+        assertThrows(SlotHeldException.class, () -> holds.checkNotHeldByOther("bob", "room-1", SLOT));
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        holds.checkNotHeldByOther("bob", "room-1", SLOT);
+    }
+
+    @Test
+    void confirmCreatesTheBookingForTheHolderAndFreesTheSlot() {
+        when(bookingService.addBooking(any())).thenReturn(
+                new BookingResponse(1L, "alice", "room-1", SLOT, "ACTIVE", LocalDateTime.now()));
+        SlotHoldResponse hold = holds.hold(new BookingRequest("alice", "room-1", SLOT), null);
+
+        BookingResponse booking = holds.confirm(hold.getHoldId());
+
+        assertEquals("alice", booking.getUserId());
+        verify(bookingService).addBooking(argThat(request -> "alice".equals(request.getUserId())
+                && "room-1".equals(request.getResourceId()) && SLOT.equals(request.getBookingDate())));
+        assertThrows(HoldNotFoundException.class, () -> holds.confirm(hold.getHoldId()));
+        holds.hold(new BookingRequest("bob", "room-1", SLOT), null);
+    }
+
+    @Test
+    void failedConfirmStillReleasesTheHold() {
+        when(bookingService.addBooking(any())).thenThrow(new DuplicateBookingException("exists"));
+        SlotHoldResponse hold = holds.hold(new BookingRequest("alice", "room-1", SLOT), null);
+
+        assertThrows(DuplicateBookingException.class, () -> holds.confirm(hold.getHoldId()));
+
+        holds.hold(new BookingRequest("bob", "room-1", SLOT), null);
+    }
+
+    @Test
+    void wheelExpiresHoldsAfterTheirTtl() {
+        SlotHoldResponse hold = holds.hold(new BookingRequest("alice", "room-1", SLOT), Duration.ofSeconds(2));
+
+        clock.addAndGet(Duration.ofMillis(1_900).toNanos());
+        holds.expireHolds();
+        assertThrows(SlotHeldException.class, () -> holds.hold(new BookingRequest("bob", "room-1", SLOT), null));
+
+        clock.addAndGet(Duration.ofMillis(100).toNanos());
+        holds.expireHolds();
+        assertEquals(0, meterRegistry.get("booking.holds.active").gauge().value());
+        assertThrows(HoldNotFoundException.class, () -> holds.confirm(hold.getHoldId()));
+        holds.hold(new BookingRequest("bob", "room-1", SLOT), null);
+    }
+
+    @Test
+    void overdueHoldIsTakenOverBeforeTheWheelGetsToIt() {
+        holds.hold(new BookingRequest("alice", "room-1", SLOT), Duration.ofSeconds(1));
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        SlotHoldResponse taken = holds.hold(new BookingRequest("bob", "room-1", SLOT), null);
+
+        assertEquals("bob", taken.getUserId());
+        assertEquals(1, meterRegistry.get("booking.holds").tag("outcome", "expired").counter().count());
+    }
+
+    @Test
+    void releasedHoldFreesTheSlot() {
+        SlotHoldResponse hold = holds.hold(new BookingRequest("alice", "room-1", SLOT), null);
+
+        holds.release(hold.getHoldId());
+        holds.release(hold.getHoldId());
+
+        holds.hold(new BookingRequest("bob", "room-1", SLOT), null);
+        assertEquals(1, meterRegistry.get("booking.holds").tag("outcome", "released").counter().count());
+    }
+
+    @Test
+    void requestedTtlIsCappedAtTheMaximum() {
+        holds.hold(new BookingRequest("alice", "room-1", SLOT), Duration.ofHours(1));
+
+        clock.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        holds.hold(new BookingRequest("bob", "room-1", SLOT), null);
+    }
+}
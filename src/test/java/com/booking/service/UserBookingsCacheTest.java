@@ -0,0 +1,64 @@
+package com.booking.service;
+
+import com.booking.dto.BookingResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserBookingsCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserBookingsCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserBookingsCache(100, Duration.ofMinutes(1), meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_servesRepeatedReadsFromCache() {
+        cache.get("user1", this::load);
+        cache.get("user1", this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals(0.5, meterRegistry.get("booking.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    void invalidateAfterCommit_outsideTransactionDropsEntry() {
+        cache.get("user1", this::load);
+
+        cache.invalidateAfterCommit("user1");
+        cache.get("user1", this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_countsReadsServedAfterRemoteChange() throws InterruptedException {
+        cache.get("user1", this::load);
+        Thread.sleep(5);
+        long changedAt = System.currentTimeMillis();
+        Thread.sleep(5);
+        cache.get("user1", this::load);
+
+        cache.invalidate("user1", changedAt);
+
+        assertEquals(1.0, meterRegistry.get("booking.cache.stale.reads").functionCounter().count());
+    }
+
+    private List<BookingResponse> load(String userId) {
+        loads.incrementAndGet();
+        return List.of(new BookingResponse(1L, userId, "res1", LocalDateTime.now(), "ACTIVE", LocalDateTime.now()));
+    }
+}